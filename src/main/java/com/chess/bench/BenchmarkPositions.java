@@ -0,0 +1,29 @@
+package com.chess.bench;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FEN positions shared by the benchmarks.
+ */
+final class BenchmarkPositions {
+
+    static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    static final List<String> MIDDLEGAME_POSITIONS = Arrays.asList(
+            // "Kiwipete", rich in captures, pins and castling.
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            // Italian game.
+            "r1bqk2r/pppp1ppp/2n2n2/2b1p3/2B1P3/2NP1N2/PPP2PPP/R1BQK2R b KQkq - 0 5",
+            // Queen's gambit declined.
+            "rnbq1rk1/ppp1bppp/4pn2/3p2B1/2PP4/2N2N2/PP2PPPP/R2QKB1R w KQ - 4 6",
+            // Sicilian defence.
+            "r1bqkb1r/pp2pppp/2np1n2/8/3NP3/2N5/PPP2PPP/R1BQKB1R w KQkq - 2 6",
+            // Bratko-Kopec test position 1.
+            "1k1r4/pp1b1R2/3q2pp/4p3/2B5/4Q3/PPP2B2/2K5 b - - 0 1"
+    );
+
+    private BenchmarkPositions() {
+        throw new RuntimeException("The BenchmarkPositions class cannot be instantiated.");
+    }
+}
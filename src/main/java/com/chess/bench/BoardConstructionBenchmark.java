@@ -0,0 +1,84 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.pgn.FenUtilities;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the time and memory it takes to create a {@link Board} by executing a move, the way the searches create
+ * every node. Each legal move of the benchmark positions is executed, and the resulting board is either left alone,
+ * like a leaf that is only evaluated, or asked for the moves of its player to move, like an interior node.
+ *
+ * Allocation is read from the JVM's per thread allocation counter and is reported as -1 where the JVM lacks one.
+ *
+ * Usage: BoardConstructionBenchmark [iterations]
+ */
+public final class BoardConstructionBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 2_000;
+    private static final int WARMUP_ITERATIONS = 500;
+
+    private BoardConstructionBenchmark() {
+        throw new RuntimeException("The BoardConstructionBenchmark class cannot be instantiated.");
+    }
+
+    public static void main(final String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+
+        final List<Move> moves = new ArrayList<>();
+        final List<String> positions = new ArrayList<>();
+        positions.add(BenchmarkPositions.STARTING_POSITION);
+        positions.addAll(BenchmarkPositions.MIDDLEGAME_POSITIONS);
+        for (final String fen : positions) {
+            moves.addAll(FenUtilities.createGameFromFEN(fen).getCurrentPlayer().getLegalMoves());
+        }
+
+        executeMoves(moves, WARMUP_ITERATIONS, false);
+        executeMoves(moves, WARMUP_ITERATIONS, true);
+
+        System.out.printf("Boards created from %d moves in %d positions, %d iterations%n", moves.size(),
+                          positions.size(), iterations);
+        System.out.printf("%-22s %12s %12s %16s %12s%n", "board", "time (ms)", "ns/board", "bytes/board",
+                          "checksum");
+        report("leaf", moves, iterations, false);
+        report("with moves to play", moves, iterations, true);
+    }
+
+    private static void report(final String name, final List<Move> moves, final int iterations,
+                               final boolean isInteriorNode) {
+        final long startBytes = allocatedBytes();
+        final long startTime = System.nanoTime();
+        final long checksum = executeMoves(moves, iterations, isInteriorNode);
+        final long elapsedTime = System.nanoTime() - startTime;
+        final long bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+
+        final long boards = (long) iterations * moves.size();
+        System.out.printf("%-22s %12d %12.0f %16d %12x%n", name, elapsedTime / 1_000_000,
+                          (double) elapsedTime / boards, bytes < 0 ? -1 : bytes / boards, checksum);
+    }
+
+    private static long executeMoves(final List<Move> moves, final int iterations, final boolean isInteriorNode) {
+        long checksum = 0L;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (final Move move : moves) {
+                final Board board = move.execute();
+                checksum += isInteriorNode ? board.getCurrentPlayer().getLegalMoves().size() : board.getZobristKey();
+            }
+        }
+        return checksum;
+    }
+
+    private static long allocatedBytes() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
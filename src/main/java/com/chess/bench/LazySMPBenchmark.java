@@ -0,0 +1,86 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.player.ai.LazySMP;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the time-to-depth speedup of the Lazy SMP search over its single threaded run, from the starting position
+ * and a set of middlegame positions.
+ *
+ * Usage: LazySMPBenchmark [depth] [thread counts...], for example "LazySMPBenchmark 5 1 2 4 8 16". Each run gets a
+ * fresh transposition table, so that no run benefits from the one before it.
+ */
+public final class LazySMPBenchmark {
+
+    private static final int DEFAULT_DEPTH = 4;
+    private static final int[] DEFAULT_THREAD_COUNTS = {1, 2, 4, 8, 16};
+    private static final int HASH_SIZE_IN_MEGABYTES = 64;
+
+    private LazySMPBenchmark() {
+        throw new RuntimeException("The LazySMPBenchmark class cannot be instantiated.");
+    }
+
+    public static void main(final String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        final int[] threadCounts = args.length > 1 ? parseThreadCounts(args) : DEFAULT_THREAD_COUNTS;
+
+        final List<String> positions = new ArrayList<>();
+        positions.add(BenchmarkPositions.STARTING_POSITION);
+        positions.addAll(BenchmarkPositions.MIDDLEGAME_POSITIONS);
+
+        // Let the JIT compile the search before anything is timed.
+        new LazySMP(depth, 1, new TranspositionTable(HASH_SIZE_IN_MEGABYTES))
+                .execute(FenUtilities.createGameFromFEN(BenchmarkPositions.STARTING_POSITION), SearchLimits.depth(depth));
+
+        System.out.printf("Lazy SMP time to depth %d (%d cores available)%n", depth,
+                          Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %12s %14s %10s%n", "threads", "time (ms)", "nodes", "speedup");
+
+        final long[] totalTimes = new long[threadCounts.length];
+        final long[] totalNodes = new long[threadCounts.length];
+
+        for (final String fen : positions) {
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            System.out.println(fen);
+
+            long singleThreadTime = 0;
+            for (int i = 0; i < threadCounts.length; i++) {
+                final LazySMP search = new LazySMP(depth, threadCounts[i],
+                                                   new TranspositionTable(HASH_SIZE_IN_MEGABYTES));
+
+                final long startTime = System.nanoTime();
+                search.execute(board, SearchLimits.depth(depth));
+                final long elapsedMillis = Math.max(1, (System.nanoTime() - startTime) / 1_000_000);
+
+                if (i == 0) {
+                    singleThreadTime = elapsedMillis;
+                }
+                totalTimes[i] += elapsedMillis;
+                totalNodes[i] += search.getNodesSearched();
+
+                System.out.printf("%-8d %12d %14d %10.2f%n", threadCounts[i], elapsedMillis,
+                                  search.getNodesSearched(), (double) singleThreadTime / elapsedMillis);
+            }
+        }
+
+        System.out.println("Total");
+        for (int i = 0; i < threadCounts.length; i++) {
+            System.out.printf("%-8d %12d %14d %10.2f%n", threadCounts[i], totalTimes[i], totalNodes[i],
+                              (double) totalTimes[0] / totalTimes[i]);
+        }
+    }
+
+    private static int[] parseThreadCounts(final String[] args) {
+        final int[] threadCounts = new int[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            threadCounts[i - 1] = Integer.parseInt(args[i]);
+        }
+        return threadCounts;
+    }
+}
@@ -0,0 +1,65 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.MoveOrdering;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports how well the alpha-beta search orders its moves: the nodes searched to a fixed depth, and the fraction of beta
+ * cutoffs caused by the first move searched.
+ *
+ * Usage: MoveOrderingBenchmark [depth]
+ */
+public final class MoveOrderingBenchmark {
+
+    private static final int DEFAULT_DEPTH = 4;
+    private static final int HASH_SIZE_IN_MEGABYTES = 64;
+
+    private MoveOrderingBenchmark() {
+        throw new RuntimeException("The MoveOrderingBenchmark class cannot be instantiated.");
+    }
+
+    public static void main(final String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+
+        final List<String> positions = new ArrayList<>();
+        positions.add(BenchmarkPositions.STARTING_POSITION);
+        positions.addAll(BenchmarkPositions.MIDDLEGAME_POSITIONS);
+
+        System.out.printf("Move ordering at depth %d%n", depth);
+        System.out.printf("%-10s %12s %14s %10s %16s%n", "position", "time (ms)", "nodes", "cutoffs",
+                          "first move (%)");
+
+        long totalTime = 0;
+        long totalNodes = 0;
+        long totalCutoffs = 0;
+        double totalFirstMoveCutoffs = 0;
+
+        for (int i = 0; i < positions.size(); i++) {
+            final Board board = FenUtilities.createGameFromFEN(positions.get(i));
+            final AlphaBeta search = new AlphaBeta(depth, new TranspositionTable(HASH_SIZE_IN_MEGABYTES));
+
+            final long startTime = System.nanoTime();
+            search.execute(board, SearchLimits.depth(depth));
+            final long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+            final MoveOrdering moveOrdering = search.getMoveOrdering();
+            totalTime += elapsedMillis;
+            totalNodes += search.getNodesSearched();
+            totalCutoffs += moveOrdering.getCutoffs();
+            totalFirstMoveCutoffs += moveOrdering.getFirstMoveCutoffRate() * moveOrdering.getCutoffs();
+
+            System.out.printf("%-10d %12d %14d %10d %16.1f%n", i + 1, elapsedMillis, search.getNodesSearched(),
+                              moveOrdering.getCutoffs(), 100 * moveOrdering.getFirstMoveCutoffRate());
+        }
+
+        System.out.printf("%-10s %12d %14d %10d %16.1f%n", "total", totalTime, totalNodes, totalCutoffs,
+                          totalCutoffs == 0 ? 0 : 100 * totalFirstMoveCutoffs / totalCutoffs);
+    }
+}
@@ -0,0 +1,143 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Perft;
+import com.chess.engine.board.PerftPositions;
+import com.chess.pgn.FenUtilities;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Runs {@link Perft} on the {@link PerftPositions} and compares the results with their published counts, reporting
+ * the nodes per second of each run. The published tables break the count of some depths down by the kind of the last
+ * move, and those are checked with perftStatistics(). Every position is also counted to a shallow depth through the
+ * players' moves, which must agree with the move generator's count with queen promotions only. PerftTest checks the
+ * same counts to shallower depths as part of the build.
+ *
+ * With a depth and a FEN, prints the divide of that position instead: the count below each root move.
+ *
+ * Usage: PerftBenchmark [maxDepth]
+ *        PerftBenchmark divide depth fen
+ */
+public final class PerftBenchmark {
+
+    private static final int PLAYER_MOVES_DEPTH = 3;
+
+    private PerftBenchmark() {
+        throw new RuntimeException("The PerftBenchmark class cannot be instantiated.");
+    }
+
+    public static void main(final String[] args) {
+        if (args.length > 0 && args[0].equals("divide")) {
+            divide(Integer.parseInt(args[1]), String.join(" ", Arrays.copyOfRange(args, 2, args.length)));
+            return;
+        }
+
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : Integer.MAX_VALUE;
+        int failures = 0;
+
+        // Warm up on the shallow depths, so the timed runs are not mostly interpreted.
+        for (final PerftPositions.Position position : PerftPositions.PUBLISHED) {
+            Perft.perftStatistics(FenUtilities.createGameFromFEN(position.getFen()),
+                                  Math.min(3, position.getMaxDepth()));
+        }
+
+        System.out.printf("%-18s %5s %12s %12s %6s %10s %12s%n", "position", "depth", "expected", "nodes", "result",
+                          "time (ms)", "nodes/s");
+        long totalNodes = 0;
+        long totalTime = 0;
+        for (final PerftPositions.Position position : PerftPositions.PUBLISHED) {
+            final Board board = FenUtilities.createGameFromFEN(position.getFen());
+            for (int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+                final long expectedNodes = position.getNodes(depth);
+                final long startTime = System.nanoTime();
+                final long nodes = Perft.perft(board, depth);
+                final long elapsedTime = System.nanoTime() - startTime;
+                final boolean isPassed = nodes == expectedNodes;
+
+                failures += isPassed ? 0 : 1;
+                totalNodes += nodes;
+                totalTime += elapsedTime;
+                System.out.printf("%-18s %5d %12d %12d %6s %10d %12.0f%n", position.getName(), depth, expectedNodes,
+                                  nodes, isPassed ? "ok" : "FAILED", elapsedTime / 1_000_000,
+                                  nodesPerSecond(nodes, elapsedTime));
+            }
+        }
+        System.out.printf("%nperft total: %d nodes in %d ms, %.0f nodes/s%n%n", totalNodes, totalTime / 1_000_000,
+                          nodesPerSecond(totalNodes, totalTime));
+
+        failures += checkStatistics(maxDepth);
+        failures += checkPlayerMoves(maxDepth);
+
+        System.out.println(failures == 0 ? "All perft counts match." : failures + " perft counts do not match.");
+        if (failures != 0) {
+            System.exit(1);
+        }
+    }
+
+    private static int checkStatistics(final int maxDepth) {
+        int failures = 0;
+        System.out.printf("%-18s %5s %s%n", "position", "depth", "leaf statistics");
+        for (final PerftPositions.Position position : PerftPositions.PUBLISHED) {
+            final Board board = FenUtilities.createGameFromFEN(position.getFen());
+            for (int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+                if (!position.hasStatistics(depth)) {
+                    continue;
+                }
+                final long[] expected = position.getStatistics(depth);
+                final Perft.Statistics statistics = Perft.perftStatistics(board, depth);
+                final long[] actual = {statistics.getNodes(), statistics.getCaptures(),
+                                       statistics.getEnPassantCaptures(), statistics.getCastles(),
+                                       statistics.getPromotions(), statistics.getChecks()};
+                final boolean isPassed = Arrays.equals(expected, actual);
+
+                failures += isPassed ? 0 : 1;
+                System.out.printf("%-18s %5d %s%s%n", position.getName(), depth, statistics,
+                                  isPassed ? "" : "  FAILED, expected " + Arrays.toString(expected));
+            }
+        }
+        System.out.println();
+        return failures;
+    }
+
+    private static int checkPlayerMoves(final int maxDepth) {
+        int failures = 0;
+        final int depth = Math.min(maxDepth, PLAYER_MOVES_DEPTH);
+        System.out.printf("%-18s %5s %12s %12s %6s %12s%n", "position", "depth", "generator", "player moves",
+                          "result", "nodes/s");
+        for (final PerftPositions.Position position : PerftPositions.PUBLISHED) {
+            final Board board = FenUtilities.createGameFromFEN(position.getFen());
+            final long expectedNodes = Perft.perftQueenPromotions(board, depth);
+            final long startTime = System.nanoTime();
+            final long nodes = Perft.perftMoves(board, depth);
+            final long elapsedTime = System.nanoTime() - startTime;
+            final boolean isPassed = nodes == expectedNodes;
+
+            failures += isPassed ? 0 : 1;
+            System.out.printf("%-18s %5d %12d %12d %6s %12.0f%n", position.getName(), depth, expectedNodes, nodes,
+                              isPassed ? "ok" : "FAILED", nodesPerSecond(nodes, elapsedTime));
+        }
+        System.out.println();
+        return failures;
+    }
+
+    private static void divide(final int depth, final String fen) {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+        final long startTime = System.nanoTime();
+        final Map<String, Long> counts = Perft.divide(board, depth);
+        final long elapsedTime = System.nanoTime() - startTime;
+
+        long nodes = 0;
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+        System.out.printf("%nmoves: %d%nnodes: %d%ntime: %d ms, %.0f nodes/s%n", counts.size(), nodes,
+                          elapsedTime / 1_000_000, nodesPerSecond(nodes, elapsedTime));
+    }
+
+    private static double nodesPerSecond(final long nodes, final long elapsedTime) {
+        return elapsedTime == 0 ? 0 : nodes * 1e9 / elapsedTime;
+    }
+}
@@ -0,0 +1,81 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.SearchFeature;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Measures the nodes searched and the time to reach a fixed depth with the selective search techniques of the
+ * alpha-beta search switched off, each one switched on alone, and all of them switched on.
+ *
+ * Usage: SearchFeatureBenchmark [depth] [FEN...]. Without FEN strings the shared benchmark positions are used.
+ */
+public final class SearchFeatureBenchmark {
+
+    private static final int DEFAULT_DEPTH = 4;
+    private static final int HASH_SIZE_IN_MEGABYTES = 64;
+
+    private SearchFeatureBenchmark() {
+        throw new RuntimeException("The SearchFeatureBenchmark class cannot be instantiated.");
+    }
+
+    public static void main(final String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+
+        final List<String> positions = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            positions.add(args[i]);
+        }
+        if (positions.isEmpty()) {
+            positions.add(BenchmarkPositions.STARTING_POSITION);
+            positions.addAll(BenchmarkPositions.MIDDLEGAME_POSITIONS);
+        }
+
+        final Map<String, Set<SearchFeature>> configurations = new LinkedHashMap<>();
+        configurations.put("none", SearchFeature.none());
+        for (final SearchFeature searchFeature : SearchFeature.values()) {
+            configurations.put(searchFeature.name().toLowerCase(), EnumSet.of(searchFeature));
+        }
+        configurations.put("all", SearchFeature.all());
+
+        // Let the JIT compile the search before anything is timed.
+        new AlphaBeta(depth, new TranspositionTable(HASH_SIZE_IN_MEGABYTES), SearchFeature.all())
+                .execute(FenUtilities.createGameFromFEN(BenchmarkPositions.STARTING_POSITION), SearchLimits.depth(depth));
+
+        System.out.printf("Search features at depth %d over %d positions%n", depth, positions.size());
+        System.out.printf("%-22s %12s %14s %10s%n", "features", "time (ms)", "nodes", "nodes (%)");
+
+        long baselineNodes = 0;
+        for (final Map.Entry<String, Set<SearchFeature>> configuration : configurations.entrySet()) {
+            long totalTime = 0;
+            long totalNodes = 0;
+
+            for (final String fen : positions) {
+                final Board board = FenUtilities.createGameFromFEN(fen);
+                final AlphaBeta search = new AlphaBeta(depth, new TranspositionTable(HASH_SIZE_IN_MEGABYTES),
+                                                       configuration.getValue());
+
+                final long startTime = System.nanoTime();
+                search.execute(board, SearchLimits.depth(depth));
+                totalTime += (System.nanoTime() - startTime) / 1_000_000;
+                totalNodes += search.getNodesSearched();
+            }
+
+            if (baselineNodes == 0) {
+                baselineNodes = totalNodes;
+            }
+            System.out.printf("%-22s %12d %14d %10.1f%n", configuration.getKey(), totalTime, totalNodes,
+                              100.0 * totalNodes / baselineNodes);
+        }
+    }
+}
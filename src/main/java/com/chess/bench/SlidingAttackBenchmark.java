@@ -0,0 +1,145 @@
+package com.chess.bench;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MagicBitboards;
+import com.chess.engine.pieces.Piece;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the magic bitboard lookups of {@link MagicBitboards} with walking the rays of each slider square by square
+ * over the tiles, the way the pieces generated their moves before. Both compute the attack sets of every rook, bishop
+ * and queen in the benchmark positions, and the results are checked against each other.
+ *
+ * Usage: SlidingAttackBenchmark [iterations]
+ */
+public final class SlidingAttackBenchmark {
+
+    private static final int DEFAULT_ITERATIONS = 200_000;
+    private static final int WARMUP_ITERATIONS = 20_000;
+
+    private static final int[] ROOK_DIRECTIONS = {-8, -1, 1, 8};
+    private static final int[] BISHOP_DIRECTIONS = {-9, -7, 7, 9};
+    private static final int[] QUEEN_DIRECTIONS = {-9, -8, -7, -1, 1, 7, 8, 9};
+
+    private SlidingAttackBenchmark() {
+        throw new RuntimeException("The SlidingAttackBenchmark class cannot be instantiated.");
+    }
+
+    public static void main(final String[] args) {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+
+        final List<Board> boards = new ArrayList<>();
+        boards.add(FenUtilities.createGameFromFEN(BenchmarkPositions.STARTING_POSITION));
+        for (final String fen : BenchmarkPositions.MIDDLEGAME_POSITIONS) {
+            boards.add(FenUtilities.createGameFromFEN(fen));
+        }
+
+        final List<Piece> sliders = new ArrayList<>();
+        final List<Board> sliderBoards = new ArrayList<>();
+        for (final Board board : boards) {
+            for (final Piece piece : board.getAllActivePieces()) {
+                if (directionsOf(piece) != null) {
+                    sliders.add(piece);
+                    sliderBoards.add(board);
+                }
+            }
+        }
+
+        for (int i = 0; i < sliders.size(); i++) {
+            if (walkRays(sliderBoards.get(i), sliders.get(i)) != lookUp(sliderBoards.get(i), sliders.get(i))) {
+                throw new IllegalStateException("Attack sets differ for " + sliders.get(i) + " on " +
+                                                BoardUtils.PGN_SQUARES[sliders.get(i).getPiecePosition()]);
+            }
+        }
+
+        runRayWalker(sliderBoards, sliders, WARMUP_ITERATIONS);
+        runMagicLookup(sliderBoards, sliders, WARMUP_ITERATIONS);
+
+        final long rayStartTime = System.nanoTime();
+        final long rayChecksum = runRayWalker(sliderBoards, sliders, iterations);
+        final long rayTime = System.nanoTime() - rayStartTime;
+
+        final long magicStartTime = System.nanoTime();
+        final long magicChecksum = runMagicLookup(sliderBoards, sliders, iterations);
+        final long magicTime = System.nanoTime() - magicStartTime;
+
+        final long lookups = (long) iterations * sliders.size();
+        System.out.printf("Sliding attacks of %d sliders in %d positions, %d iterations%n", sliders.size(),
+                          boards.size(), iterations);
+        System.out.printf("%-14s %12s %14s %14s%n", "method", "time (ms)", "ns/lookup", "checksum");
+        System.out.printf("%-14s %12d %14.1f %14x%n", "ray walker", rayTime / 1_000_000, (double) rayTime / lookups,
+                          rayChecksum);
+        System.out.printf("%-14s %12d %14.1f %14x%n", "magic lookup", magicTime / 1_000_000,
+                          (double) magicTime / lookups, magicChecksum);
+        System.out.printf("speedup: %.1fx%n", (double) rayTime / magicTime);
+    }
+
+    private static long runRayWalker(final List<Board> boards, final List<Piece> sliders, final int iterations) {
+        long checksum = 0L;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < sliders.size(); i++) {
+                checksum += walkRays(boards.get(i), sliders.get(i));
+            }
+        }
+        return checksum;
+    }
+
+    private static long runMagicLookup(final List<Board> boards, final List<Piece> sliders, final int iterations) {
+        long checksum = 0L;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < sliders.size(); i++) {
+                checksum += lookUp(boards.get(i), sliders.get(i));
+            }
+        }
+        return checksum;
+    }
+
+    private static long walkRays(final Board board, final Piece piece) {
+        long attacks = 0L;
+        for (final int direction : directionsOf(piece)) {
+            int previousPosition = piece.getPiecePosition();
+            int candidatePosition = previousPosition + direction;
+
+            while (BoardUtils.isValidTilePosition(candidatePosition) &&
+                   Math.abs(candidatePosition % 8 - previousPosition % 8) <= 1) {
+                attacks |= BitBoard.squareBit(candidatePosition);
+                if (board.getTile(candidatePosition).isOccupied()) {
+                    break;
+                }
+                previousPosition = candidatePosition;
+                candidatePosition += direction;
+            }
+        }
+        return attacks;
+    }
+
+    private static long lookUp(final Board board, final Piece piece) {
+        final long occupancy = board.getBitBoard().getOccupancy();
+        switch (piece.getPieceType()) {
+            case ROOK:
+                return MagicBitboards.rookAttacks(piece.getPiecePosition(), occupancy);
+            case BISHOP:
+                return MagicBitboards.bishopAttacks(piece.getPiecePosition(), occupancy);
+            default:
+                return MagicBitboards.queenAttacks(piece.getPiecePosition(), occupancy);
+        }
+    }
+
+    private static int[] directionsOf(final Piece piece) {
+        switch (piece.getPieceType()) {
+            case ROOK:
+                return ROOK_DIRECTIONS;
+            case BISHOP:
+                return BISHOP_DIRECTIONS;
+            case QUEEN:
+                return QUEEN_DIRECTIONS;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+/**
+ * Attack and push sets of the knight, king and pawn for every square, as bitboards. These pieces move by fixed steps,
+ * so each set depends only on the square (and, for pawns, the alliance) and is computed once when the class is
+ * loaded, leaving no offset arithmetic or edge checks for move generation. See {@link MagicBitboards} for the sliding
+ * pieces.
+ *
+ * Bit n of every bitboard is board position n, as in {@link BitBoard}.
+ */
+public final class AttackTables {
+
+    private static final int[] KNIGHT_OFFSETS = {-17, -15, -10, -6, 6, 10, 15, 17};
+    private static final int[] KING_OFFSETS = {-9, -8, -7, -1, 1, 7, 8, 9};
+    private static final int[] LINE_DIRECTIONS = KING_OFFSETS;
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    // Indexed by alliance ordinal, then position.
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    private static final long[][] PAWN_PUSHES = new long[2][64];
+    private static final long[][] PAWN_DOUBLE_PUSHES = new long[2][64];
+    private static final long[][] BETWEEN = new long[64][64];
+
+    static {
+        for (int position = 0; position < 64; position++) {
+            KNIGHT_ATTACKS[position] = calculateSteps(position, KNIGHT_OFFSETS, 2);
+            KING_ATTACKS[position] = calculateSteps(position, KING_OFFSETS, 1);
+
+            for (final Alliance alliance : Alliance.values()) {
+                final int forward = 8 * alliance.getDirection();
+                PAWN_ATTACKS[alliance.ordinal()][position] =
+                        calculateSteps(position, new int[]{forward - 1, forward + 1}, 1);
+                PAWN_PUSHES[alliance.ordinal()][position] = calculateSteps(position, new int[]{forward}, 0);
+
+                final boolean isOnStartingRank = alliance.isWhite() ? BoardUtils.isOnSecondRank(position) :
+                                                 BoardUtils.isOnSeventhRank(position);
+                if (isOnStartingRank) {
+                    PAWN_DOUBLE_PUSHES[alliance.ordinal()][position] = BitBoard.squareBit(position + 2 * forward);
+                }
+            }
+
+            for (final int direction : LINE_DIRECTIONS) {
+                long squaresBetween = 0L;
+                int previousPosition = position;
+                int candidatePosition = position + direction;
+                while (BoardUtils.isValidTilePosition(candidatePosition) &&
+                       Math.abs(candidatePosition % 8 - previousPosition % 8) <= 1) {
+                    BETWEEN[position][candidatePosition] = squaresBetween;
+                    squaresBetween |= BitBoard.squareBit(candidatePosition);
+                    previousPosition = candidatePosition;
+                    candidatePosition += direction;
+                }
+            }
+        }
+    }
+
+    private AttackTables() {
+        throw new RuntimeException("The AttackTables class cannot be instantiated.");
+    }
+
+    public static long knightAttacks(final int position) {
+        return KNIGHT_ATTACKS[position];
+    }
+
+    public static long kingAttacks(final int position) {
+        return KING_ATTACKS[position];
+    }
+
+    /**
+     * @return The squares a pawn of the alliance on the position attacks, diagonally forwards. Equally, the squares
+     * from which a pawn of the other alliance attacks the position.
+     */
+    public static long pawnAttacks(final Alliance alliance, final int position) {
+        return PAWN_ATTACKS[alliance.ordinal()][position];
+    }
+
+    /**
+     * @return The square one step forwards from the position, or 0 on the last rank.
+     */
+    public static long pawnPushes(final Alliance alliance, final int position) {
+        return PAWN_PUSHES[alliance.ordinal()][position];
+    }
+
+    /**
+     * @return The square two steps forwards if the position is on the alliance's starting rank for pawns, or 0.
+     */
+    public static long pawnDoublePushes(final Alliance alliance, final int position) {
+        return PAWN_DOUBLE_PUSHES[alliance.ordinal()][position];
+    }
+
+    /**
+     * @return The squares strictly between two positions on the same rank, file or diagonal, or 0 if the positions
+     * do not share a line or are adjacent.
+     */
+    public static long between(final int firstPosition, final int secondPosition) {
+        return BETWEEN[firstPosition][secondPosition];
+    }
+
+    /**
+     * @param maximumFileDistance The furthest a step may move across files; anything further has wrapped around the
+     * edge of the board.
+     */
+    private static long calculateSteps(final int position, final int[] offsets, final int maximumFileDistance) {
+        long steps = 0L;
+        for (final int offset : offsets) {
+            final int candidatePosition = position + offset;
+            if (BoardUtils.isValidTilePosition(candidatePosition) &&
+                Math.abs(candidatePosition % 8 - position % 8) <= maximumFileDistance) {
+                steps |= BitBoard.squareBit(candidatePosition);
+            }
+        }
+        return steps;
+    }
+}
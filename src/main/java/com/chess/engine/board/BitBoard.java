@@ -0,0 +1,212 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+
+import java.util.List;
+
+/**
+ * A bitboard representation of a position: one long for each piece type and alliance, with bit n set when such a
+ * piece stands on position n (so bit 0 is a8 and bit 63 is h1), together with the occupancy of each side and of the
+ * whole board, the side to move, the castling rights and the en passant square.
+ *
+ * Questions such as "which squares hold a white knight" or "is this square empty" are answered with a mask instead of
+ * by walking tiles and pieces. Every {@link Board} builds one alongside its tiles, which remain the source of the
+ * {@link Piece} objects used by the players and the GUI.
+ *
+ * The class is immutable.
+ */
+public final class BitBoard {
+
+    public static final int NO_SQUARE = -1;
+
+    private static final int PIECE_TYPE_COUNT = Piece.PieceType.values().length;
+
+    private final long[] pieceBoards;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private final Alliance sideToMove;
+    private final int castlingRights;
+    private final int enPassantSquare;
+
+    BitBoard(final List<Tile> gameBoard, final Alliance sideToMove, final int castlingRights,
+             final Pawn enPassantPawn) {
+        this.pieceBoards = new long[Alliance.values().length * PIECE_TYPE_COUNT];
+        long whiteOccupancy = 0L;
+        long blackOccupancy = 0L;
+
+        for (final Tile tile : gameBoard) {
+            if (tile.isOccupied()) {
+                final Piece piece = tile.getPiece();
+                final long bit = squareBit(piece.getPiecePosition());
+                this.pieceBoards[index(piece.getPieceType(), piece.getAlliance())] |= bit;
+                if (piece.getAlliance().isWhite()) {
+                    whiteOccupancy |= bit;
+                } else {
+                    blackOccupancy |= bit;
+                }
+            }
+        }
+
+        this.whiteOccupancy = whiteOccupancy;
+        this.blackOccupancy = blackOccupancy;
+        this.sideToMove = sideToMove;
+        this.castlingRights = castlingRights;
+        // The square the pawn passed over on its double push, where an en passant capture lands.
+        this.enPassantSquare = enPassantPawn != null ?
+                               enPassantPawn.getPiecePosition() - 8 * enPassantPawn.getAlliance().getDirection() :
+                               NO_SQUARE;
+    }
+
+    /**
+     * @return The bitboard with only the bit of the given position set.
+     */
+    public static long squareBit(final int position) {
+        return 1L << position;
+    }
+
+    /**
+     * @return The squares holding pieces of the given type and alliance.
+     */
+    public long getPieces(final Piece.PieceType pieceType, final Alliance alliance) {
+        return this.pieceBoards[index(pieceType, alliance)];
+    }
+
+    /**
+     * @return The squares holding pieces of the given alliance.
+     */
+    public long getOccupancy(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    /**
+     * @return The squares holding a piece of either alliance.
+     */
+    public long getOccupancy() {
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
+    public boolean isOccupied(final int position) {
+        return (getOccupancy() & squareBit(position)) != 0;
+    }
+
+    /**
+     * @return The alliance of the piece on the position, or null if the position is empty.
+     */
+    public Alliance getAlliance(final int position) {
+        final long bit = squareBit(position);
+        if ((this.whiteOccupancy & bit) != 0) {
+            return Alliance.WHITE;
+        }
+        return (this.blackOccupancy & bit) != 0 ? Alliance.BLACK : null;
+    }
+
+    /**
+     * @return The type of the piece on the position, or null if the position is empty.
+     */
+    public Piece.PieceType getPieceType(final int position) {
+        final long bit = squareBit(position);
+        for (int i = 0; i < this.pieceBoards.length; i++) {
+            if ((this.pieceBoards[i] & bit) != 0) {
+                return Piece.PieceType.values()[i % PIECE_TYPE_COUNT];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Projects every kind of attack backwards from the position: a knight attacks the position if a knight standing on
+     * the position would attack it, and likewise for the other pieces, with pawns of the opposite alliance.
+     *
+     * @return The squares of the pieces of either alliance that attack the position, whatever stands on it.
+     */
+    public long attackersOf(final int position) {
+        final long occupancy = getOccupancy();
+        final long bishopsAndQueens = getPieces(Piece.PieceType.BISHOP, Alliance.WHITE) |
+                                      getPieces(Piece.PieceType.BISHOP, Alliance.BLACK) |
+                                      getPieces(Piece.PieceType.QUEEN, Alliance.WHITE) |
+                                      getPieces(Piece.PieceType.QUEEN, Alliance.BLACK);
+        final long rooksAndQueens = getPieces(Piece.PieceType.ROOK, Alliance.WHITE) |
+                                    getPieces(Piece.PieceType.ROOK, Alliance.BLACK) |
+                                    getPieces(Piece.PieceType.QUEEN, Alliance.WHITE) |
+                                    getPieces(Piece.PieceType.QUEEN, Alliance.BLACK);
+
+        return (AttackTables.pawnAttacks(Alliance.BLACK, position) & getPieces(Piece.PieceType.PAWN, Alliance.WHITE)) |
+               (AttackTables.pawnAttacks(Alliance.WHITE, position) & getPieces(Piece.PieceType.PAWN, Alliance.BLACK)) |
+               (AttackTables.knightAttacks(position) & (getPieces(Piece.PieceType.KNIGHT, Alliance.WHITE) |
+                                                        getPieces(Piece.PieceType.KNIGHT, Alliance.BLACK))) |
+               (AttackTables.kingAttacks(position) & (getPieces(Piece.PieceType.KING, Alliance.WHITE) |
+                                                      getPieces(Piece.PieceType.KING, Alliance.BLACK))) |
+               (MagicBitboards.bishopAttacks(position, occupancy) & bishopsAndQueens) |
+               (MagicBitboards.rookAttacks(position, occupancy) & rooksAndQueens);
+    }
+
+    /**
+     * @return true if a piece of the attacking alliance attacks the position. Unlike attackersOf(), stops at the first
+     * kind of attacker found.
+     */
+    public boolean isSquareAttacked(final int position, final Alliance attacker) {
+        return isSquareAttacked(position, attacker, getOccupancy(), 0L);
+    }
+
+    /**
+     * The same as isSquareAttacked(int, Alliance) in the position a move would leave, without making it: sliders are
+     * blocked by the given occupancy, and the pieces the move would capture no longer attack.
+     */
+    public boolean isSquareAttacked(final int position, final Alliance attacker, final long occupancy,
+                                    final long capturedPieces) {
+        final Alliance defender = attacker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long attackers = getOccupancy(attacker) & ~capturedPieces;
+        final long queens = getPieces(Piece.PieceType.QUEEN, attacker) & attackers;
+
+        return (AttackTables.pawnAttacks(defender, position) & getPieces(Piece.PieceType.PAWN, attacker) &
+                attackers) != 0 ||
+               (AttackTables.knightAttacks(position) & getPieces(Piece.PieceType.KNIGHT, attacker) & attackers) != 0 ||
+               (AttackTables.kingAttacks(position) & getPieces(Piece.PieceType.KING, attacker)) != 0 ||
+               (MagicBitboards.bishopAttacks(position, occupancy) &
+                ((getPieces(Piece.PieceType.BISHOP, attacker) & attackers) | queens)) != 0 ||
+               (MagicBitboards.rookAttacks(position, occupancy) &
+                ((getPieces(Piece.PieceType.ROOK, attacker) & attackers) | queens)) != 0;
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    /**
+     * @return The castling rights as a bit set of the BoardUtils castling constants.
+     */
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * @return The square a pawn passed over with a double push on the previous move, or NO_SQUARE.
+     */
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    private static int index(final Piece.PieceType pieceType, final Alliance alliance) {
+        return alliance.ordinal() * PIECE_TYPE_COUNT + pieceType.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int position = 0; position < 64; position++) {
+            final Piece.PieceType pieceType = getPieceType(position);
+            if (pieceType == null) {
+                builder.append(" -");
+            } else {
+                final String name = pieceType.toString();
+                builder.append(' ').append(getAlliance(position).isWhite() ? name : name.toLowerCase());
+            }
+            if ((position + 1) % 8 == 0) {
+                builder.append('\n');
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -16,6 +16,7 @@ import static com.chess.engine.Alliance.WHITE;
 
 public class Board {
     private final List<Tile> gameBoard;
+    private final BitBoard bitBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
 
@@ -26,21 +27,26 @@ public class Board {
     private final Player opponentPlayer;
 
     private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final long zobristKey;
 
     private Board(final Builder builder) {
         this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, BLACK);
         this.enPassantPawn = builder.enPassantPawn;
-
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        this.castlingRights = calculateCastlingRights(this.gameBoard);
+        this.bitBoard = new BitBoard(this.gameBoard, builder.nextTurnAlliance, this.castlingRights, this.enPassantPawn);
+        this.whitePieces = calculateActivePieces(this.gameBoard, this.bitBoard.getOccupancy(WHITE));
+        this.blackPieces = calculateActivePieces(this.gameBoard, this.bitBoard.getOccupancy(BLACK));
+
+        // The players calculate their moves and check status when first asked for them.
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextTurnAlliance.choosePlayer(this.whitePlayer, this.blackPlayer);
         this.opponentPlayer = currentPlayer.getOpponent();
 
+        // Boards created by a move carry a key updated incrementally from the previous board.
+        this.zobristKey = builder.zobristKey != null ? builder.zobristKey : ZobristHashing.calculateKey(this);
+        assert this.zobristKey == ZobristHashing.calculateKey(this) : "Incremental zobrist key is out of date.";
     }
 
     @Override
@@ -77,36 +83,57 @@ public class Board {
 
 
 
-    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
-        final List<Move> legalMoves = new ArrayList<>();
+    /**
+     * A player may castle on a side while their king and that side's rook have not moved. Whether castling is actually
+     * possible in the current position is decided by the players.
+     *
+     * @return The castling rights as a bit set of the BoardUtils castling constants.
+     */
+    private static int calculateCastlingRights(final List<Tile> gameBoard) {
+        int castlingRights = 0;
 
-        for (final Piece piece : pieces) {
-            legalMoves.addAll(piece.calculateLegalMoves(this)); // adds all legal moves for each piece
+        if (isUnmoved(gameBoard, 60, Piece.PieceType.KING, WHITE)) {
+            if (isUnmoved(gameBoard, 63, Piece.PieceType.ROOK, WHITE)) {
+                castlingRights |= BoardUtils.WHITE_KING_SIDE_CASTLE;
+            }
+            if (isUnmoved(gameBoard, 56, Piece.PieceType.ROOK, WHITE)) {
+                castlingRights |= BoardUtils.WHITE_QUEEN_SIDE_CASTLE;
+            }
         }
-        return ImmutableList.copyOf(legalMoves);
-    }
-
 
-    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<>();
-
-        for (final Tile tile : gameBoard) {
-            if (tile.isOccupied()) {
-                final Piece pieceOnTile = tile.getPiece();
-                if (pieceOnTile.getAlliance() == alliance) {
-                    activePieces.add(pieceOnTile);
-                }
+        if (isUnmoved(gameBoard, 4, Piece.PieceType.KING, BLACK)) {
+            if (isUnmoved(gameBoard, 7, Piece.PieceType.ROOK, BLACK)) {
+                castlingRights |= BoardUtils.BLACK_KING_SIDE_CASTLE;
+            }
+            if (isUnmoved(gameBoard, 0, Piece.PieceType.ROOK, BLACK)) {
+                castlingRights |= BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
             }
         }
 
-        return ImmutableList.copyOf(activePieces);
+        return castlingRights;
     }
 
+    private static boolean isUnmoved(final List<Tile> gameBoard, final int position,
+                                     final Piece.PieceType pieceType, final Alliance alliance) {
+        final Piece piece = gameBoard.get(position).getPiece();
+        return piece != null && piece.getPieceType() == pieceType && piece.getAlliance() == alliance &&
+               piece.isFirstMove();
+    }
 
+    /**
+     * Visits only the occupied tiles of one alliance, found from its occupancy bitboard.
+     */
+    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final long occupancy) {
+        final Piece[] activePieces = new Piece[Long.bitCount(occupancy)];
+        long remaining = occupancy;
 
+        for (int i = 0; i < activePieces.length; i++) {
+            activePieces[i] = gameBoard.get(Long.numberOfTrailingZeros(remaining)).getPiece();
+            remaining &= remaining - 1; // clears the lowest set bit
+        }
 
-
-
+        return ImmutableList.copyOf(activePieces);
+    }
 
     public Tile getTile(final int tilePosition) {
         return gameBoard.get(tilePosition);
@@ -115,7 +142,7 @@ public class Board {
     private static List<Tile> createGameBoard(final Builder builder) {
         final Tile[] tiles = new Tile[64];
         for (int i = 0; i < 64; i++) {
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+            tiles[i] = Tile.createTile(i, builder.boardConfig[i]);
         }
         return ImmutableList.copyOf(tiles);
     }
@@ -175,23 +202,74 @@ public class Board {
         return Iterables.unmodifiableIterable(Iterables.concat(this.whitePieces, this.blackPieces));
     }
 
+    /**
+     * @param position The square to examine.
+     * @param attacker The alliance whose attacks count.
+     * @return true if a piece of the attacking alliance attacks the square. Pawn pushes and castling do not attack.
+     */
+    public boolean isSquareAttacked(final int position, final Alliance attacker) {
+        return this.bitBoard.isSquareAttacked(position, attacker);
+    }
+
+    /**
+     * @return A bitboard of the pieces of both alliances that attack the square.
+     */
+    public long attackersOf(final int position) {
+        return this.bitBoard.attackersOf(position);
+    }
+
+    /**
+     * @return The bitboard representation of the position.
+     */
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
     public Pawn getEnPassantPawn() {
         return this.enPassantPawn;
     }
 
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * @return A 64 bit key identifying the position, covering the pieces, the player to move, the castling rights and
+     * the en passant pawn.
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
 
     public static class Builder {
-        Map<Integer, Piece> boardConfig; // map positions to pieces
+        final Piece[] boardConfig; // the piece on each position, or null
         Alliance nextTurnAlliance; // player who moves next
         Pawn enPassantPawn;
+        Long zobristKey; // null if the key must be calculated from scratch
 
         public Builder() {
-            this.boardConfig = new HashMap<Integer, Piece>() {
-            };
+            this.boardConfig = new Piece[64];
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
+            return this;
+        }
+
+        /**
+         * Places every piece of the board on the same position, for a move to then change only the positions it
+         * touches.
+         */
+        Builder setPieces(final Board board) {
+            for (int i = 0; i < this.boardConfig.length; i++) {
+                this.boardConfig[i] = board.getTile(i).getPiece();
+            }
+            return this;
+        }
+
+        Builder removePiece(final int position) {
+            this.boardConfig[position] = null;
             return this;
         }
 
@@ -208,5 +286,10 @@ public class Board {
         public void setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+
+        Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            return this;
+        }
     }
 }
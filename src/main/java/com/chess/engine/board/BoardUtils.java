@@ -16,6 +16,7 @@ NOTES ON UTILITY CLASSES
 
 import com.google.common.collect.ImmutableMap;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,6 +37,16 @@ public final class BoardUtils {
 
     public static final Map<String, Integer> PGN_TO_Position = initialiseSquareToPositionMap();
 
+    // Castling rights are stored as a bit set so that they can be hashed and updated with simple masks.
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+    public static final int ALL_CASTLING_RIGHTS = 15;
+
+    // The castling rights that survive a piece moving from, or being captured on, each square.
+    private static final int[] CASTLING_RIGHTS_MASK = initialiseCastlingRightsMask();
+
 
 
     public static boolean isValidTilePosition(int position) {
@@ -79,13 +90,42 @@ public final class BoardUtils {
     private static Map<String, Integer> initialiseSquareToPositionMap() {
         final Map<String, Integer> squareToPositionMap = new HashMap<>();
 
-        for (int i = 0; i < 63; i++) {
+        for (int i = 0; i < 64; i++) {
             squareToPositionMap.put(PGN_SQUARES[i], i);
         }
 
         return ImmutableMap.copyOf(squareToPositionMap);
     }
 
+    private static int[] initialiseCastlingRightsMask() {
+        final int[] castlingRightsMask = new int[64];
+        Arrays.fill(castlingRightsMask, ALL_CASTLING_RIGHTS);
+
+        castlingRightsMask[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        castlingRightsMask[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        castlingRightsMask[7] &= ~BLACK_KING_SIDE_CASTLE;
+        castlingRightsMask[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        castlingRightsMask[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        castlingRightsMask[63] &= ~WHITE_KING_SIDE_CASTLE;
+
+        return castlingRightsMask;
+    }
+
+    /**
+     * Castling rights can only ever be lost, and only by a king or rook leaving its starting square or by a rook being
+     * captured on it.
+     *
+     * @param castlingRights The castling rights before the move.
+     * @param currentPosition The square the move starts from.
+     * @param destinationPosition The square the move ends on.
+     * @return The castling rights after the move.
+     */
+    public static int updateCastlingRights(final int castlingRights,
+                                           final int currentPosition,
+                                           final int destinationPosition) {
+        return castlingRights & CASTLING_RIGHTS_MASK[currentPosition] & CASTLING_RIGHTS_MASK[destinationPosition];
+    }
+
     public static String getPGNSquare(int positionCoordinate) {
         return PGN_SQUARES[positionCoordinate];
     }
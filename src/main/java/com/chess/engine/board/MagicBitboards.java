@@ -0,0 +1,165 @@
+package com.chess.engine.board;
+
+/**
+ * Attack sets of the sliding pieces, looked up with magic bitboards.
+ *
+ * The squares a rook or bishop attacks depend only on its square and on which squares along its lines are occupied.
+ * For each square, the relevant occupancy (the line squares, without the last square of each line, whose occupancy
+ * never matters) is multiplied by a "magic" number chosen so that the top bits of the product index a table without
+ * two different attack sets colliding. A lookup is then one mask, one multiplication and one shift.
+ *
+ * The magics below were found by trying sparse random numbers until each square had one that worked. When the class is
+ * loaded, the tables are filled by walking the rays once for every occupancy, which also checks that no magic maps two
+ * different attack sets to the same entry.
+ *
+ * Bit n of every bitboard is board position n, as in {@link BitBoard}.
+ */
+public final class MagicBitboards {
+
+    private static final int[] ROOK_DIRECTIONS = {-8, -1, 1, 8};
+    private static final int[] BISHOP_DIRECTIONS = {-9, -7, 7, 9};
+
+    private static final long[] ROOK_MAGICS = {
+            0x8180_0140_0114_2481L, 0x0140_0110_0120_0048L, 0x0880_0810_0081_2000L, 0x4100_0420_1000_0900L,
+            0x0100_1002_0800_0500L, 0x1100_0844_0001_0002L, 0x0880_0100_0080_1200L, 0x0480_0023_CB00_0080L,
+            0x0216_8002_2040_0281L, 0x0001_0020_4001_0080L, 0x0502_0028_4012_0080L, 0x2100_8008_0080_1000L,
+            0x0002_0020_0804_1200L, 0x2002_0004_1102_0008L, 0x0205_0002_0004_1100L, 0x8002_0022_8C0A_00C5L,
+            0x0080_00C0_0020_0050L, 0x0800_8980_4002_2000L, 0x0088_4200_1820_8200L, 0x0804_0900_2100_1004L,
+            0x0200_8280_0800_4400L, 0x0012_0801_2010_0440L, 0x0000_0400_4130_0218L, 0x0000_0200_0091_0044L,
+            0x0190_420A_0020_8100L, 0x0400_5001_4000_2008L, 0x0101_0041_0020_0014L, 0x0080_0800_8010_0080L,
+            0x0021_0025_0010_2800L, 0x0020_0200_8004_0080L, 0x0807_00A1_0044_0200L, 0x0000_4886_0000_C401L,
+            0x4000_4000_8080_0020L, 0x0020_0030_0440_0840L, 0x0820_8020_0080_1000L, 0x2200_1001_0100_0820L,
+            0x0102_0090_0A00_2004L, 0x4000_0200_8080_0400L, 0x1440_02C1_0400_1008L, 0x0012_0400_4200_00A1L,
+            0x0440_8040_0030_8001L, 0x0010_0020_0044_4000L, 0x0400_2000_4101_0010L, 0x0140_4222_0012_0008L,
+            0x2464_0800_0400_8080L, 0x0042_0008_1002_0004L, 0x2000_8110_8224_0048L, 0x4400_0C20_4382_0001L,
+            0x0810_8008_4000_2480L, 0x84A0_2000_9040_0080L, 0x8100_2042_0280_9A00L, 0x0900_9001_0008_2500L,
+            0x4404_0408_0100_1100L, 0x20A0_8004_0002_0080L, 0x1041_0210_0108_0400L, 0x0080_2908_8044_0200L,
+            0x2082_8000_4010_2901L, 0x0002_0020_8100_1842L, 0x0000_1080_3A02_C062L, 0x0011_2010_0009_0501L,
+            0x0202_0020_0810_0402L, 0x040A_00AC_0310_0802L, 0x0020_4802_0110_00C4L, 0x0501_0008_8200_3041L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x0110_1021_2800_2040L, 0x44A8_02A4_1042_0000L, 0x0004_1802_0040_A040L, 0x2004_4101_2100_0681L,
+            0x0006_1210_1008_0012L, 0x0100_9004_2020_0000L, 0x1000_8414_2004_2012L, 0x4C32_0104_0E25_0400L,
+            0x1010_1010_0188_1080L, 0xA04C_0401_0232_0600L, 0x8400_9108_0200_4A20L, 0x0040_1805_8D00_0000L,
+            0x1800_4110_4000_01C8L, 0x0040_1104_2004_4001L, 0x0028_0048_0404_2000L, 0x0000_0100_4130_0821L,
+            0x0020_2031_2101_2101L, 0x0008_5402_0818_0090L, 0xA0E4_0208_2044_0009L, 0x0008_2304_0400_1024L,
+            0x0024_0401_82A0_0008L, 0x0011_0004_9004_9000L, 0x0000_4209_0822_1000L, 0x0100_2033_0508_0280L,
+            0x8104_D010_E020_2140L, 0x0050_0802_1002_4080L, 0x1204_1040_A208_0041L, 0x0008_0800_0082_0002L,
+            0x0041_0100_0810_4000L, 0x2001_0A00_5100_6100L, 0x2002_0080_0048_1882L, 0x1002_0251_0084_0082L,
+            0x4010_0406_13A0_0808L, 0x0008_1108_2210_1280L, 0x0080_9804_0088_0542L, 0x0000_0200_8048_0080L,
+            0x1902_0202_0010_0808L, 0x0020_1040_8281_0080L, 0x0804_0400_4800_9800L, 0x0000_9410_8880_4204L,
+            0x0408_6404_6400_6001L, 0x0005_0402_2080_0200L, 0x0301_0A08_0204_8402L, 0x0004_0014_1404_0800L,
+            0x4000_4004_0823_0100L, 0x0004_0100_4204_0900L, 0x0120_440C_0088_2454L, 0x0088_8081_0200_2040L,
+            0x0812_085A_0210_0200L, 0x1812_1205_0442_0008L, 0x0000_10A1_0848_2000L, 0x0020_0534_2088_4000L,
+            0x0204_0010_6022_0080L, 0x0144_2144_1030_8814L, 0x1040_9081_0230_8130L, 0x0004_180A_0042_0100L,
+            0x1200_1208_0404_4400L, 0x2400_0206_0101_6820L, 0x8010_0006_004E_0829L, 0x0A31_4000_0042_0200L,
+            0x0000_0200_2021_4508L, 0x0230_2CC0_1042_0080L, 0x2400_4102_0421_0201L, 0x00C4_2000_9101_0D02L
+    };
+
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final long[][] ROOK_ATTACKS = new long[64][];
+
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final long[][] BISHOP_ATTACKS = new long[64][];
+
+    static {
+        initialiseAttacks(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_ATTACKS);
+        initialiseAttacks(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+    }
+
+    private MagicBitboards() {
+        throw new RuntimeException("The MagicBitboards class cannot be instantiated.");
+    }
+
+    /**
+     * @param position The square of the rook.
+     * @param occupancy The occupied squares of the board.
+     * @return The squares the rook attacks: every square along its lines up to and including the first occupied one.
+     */
+    public static long rookAttacks(final int position, final long occupancy) {
+        return ROOK_ATTACKS[position][(int) (((occupancy & ROOK_MASKS[position]) * ROOK_MAGICS[position]) >>>
+                                             ROOK_SHIFTS[position])];
+    }
+
+    public static long bishopAttacks(final int position, final long occupancy) {
+        return BISHOP_ATTACKS[position][(int) (((occupancy & BISHOP_MASKS[position]) * BISHOP_MAGICS[position]) >>>
+                                               BISHOP_SHIFTS[position])];
+    }
+
+    public static long queenAttacks(final int position, final long occupancy) {
+        return rookAttacks(position, occupancy) | bishopAttacks(position, occupancy);
+    }
+
+    /**
+     * Fills the table of every square with the attack set of each subset of its relevant occupancy. A slider always
+     * attacks at least one square, so an entry holding 0 has not been filled yet.
+     */
+    private static void initialiseAttacks(final int[] directions, final long[] magics, final long[] masks,
+                                          final int[] shifts, final long[][] attacks) {
+        for (int position = 0; position < 64; position++) {
+            final long mask = calculateRelevantOccupancyMask(position, directions);
+            final int bits = Long.bitCount(mask);
+
+            masks[position] = mask;
+            shifts[position] = 64 - bits;
+            attacks[position] = new long[1 << bits];
+
+            // Enumerates every subset of the mask, starting and ending with the empty set.
+            long subset = 0L;
+            do {
+                final int index = (int) ((subset * magics[position]) >>> shifts[position]);
+                final long attackSet = calculateSlidingAttacks(position, subset, directions);
+                if (attacks[position][index] != 0L && attacks[position][index] != attackSet) {
+                    throw new IllegalStateException("The magic for position " + position + " is not valid.");
+                }
+                attacks[position][index] = attackSet;
+                subset = (subset - mask) & mask;
+            } while (subset != 0L);
+        }
+    }
+
+    private static long calculateRelevantOccupancyMask(final int position, final int[] directions) {
+        long mask = 0L;
+        for (final int direction : directions) {
+            int candidatePosition = position + direction;
+            // A square is relevant only if the ray continues beyond it.
+            while (isStep(candidatePosition - direction, candidatePosition) &&
+                   isStep(candidatePosition, candidatePosition + direction)) {
+                mask |= BitBoard.squareBit(candidatePosition);
+                candidatePosition += direction;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Walks each ray from the position until it leaves the board or reaches an occupied square, which is included.
+     */
+    private static long calculateSlidingAttacks(final int position, final long occupancy, final int[] directions) {
+        long attacks = 0L;
+        for (final int direction : directions) {
+            int previousPosition = position;
+            int candidatePosition = position + direction;
+            while (isStep(previousPosition, candidatePosition)) {
+                attacks |= BitBoard.squareBit(candidatePosition);
+                if ((occupancy & BitBoard.squareBit(candidatePosition)) != 0) {
+                    break;
+                }
+                previousPosition = candidatePosition;
+                candidatePosition += direction;
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * @return true if the second square is on the board and at most one file away from the first, so that a step
+     * between them does not wrap around the edge of the board.
+     */
+    private static boolean isStep(final int fromPosition, final int toPosition) {
+        return BoardUtils.isValidTilePosition(toPosition) && Math.abs(toPosition % 8 - fromPosition % 8) <= 1;
+    }
+}
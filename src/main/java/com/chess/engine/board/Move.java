@@ -3,10 +3,9 @@ package com.chess.engine.board;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.PieceCache;
 import com.chess.engine.pieces.Rook;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Objects;
 
 import static com.chess.engine.board.Board.*;
@@ -83,25 +82,47 @@ public abstract class Move {
     }
 
     public Board execute() {
-        final Builder builder = new Builder();
-        final Collection<Piece> activePieces = new ArrayList<>();
-        activePieces.addAll(this.board.getCurrentPlayer().getActivePieces());
-        activePieces.addAll(this.board.getOpponentPlayer().getActivePieces());
-
-
-        for (final Piece piece : activePieces) {
-            if (!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
+        // A captured piece is replaced on the destination by the moved piece.
+        final Builder builder = new Builder().setPieces(this.board).removePiece(this.getCurrentPosition());
 
         //Move the piece
-        builder.setPiece(this.movedPiece.movePiece(this));
+        final Piece pieceAfterMove = this.movedPiece.movePiece(this);
+        builder.setPiece(pieceAfterMove);
         builder.setNextTurnAlliance(this.board.getOpponentPlayer().getAlliance());
+        builder.setZobristKey(calculateZobristKey(pieceAfterMove, null));
 
         return builder.build();
     }
 
+    /**
+     * Updates the zobrist key of the board by XOR-ing out the features this move removes and XOR-ing in the ones it
+     * adds, rather than hashing the new board from scratch. Subclasses that place or remove further pieces (the rook of
+     * a castle move, a promoted piece) account for those themselves.
+     *
+     * @param pieceAfterMove The moved piece on its destination square.
+     * @param enPassantPawnAfterMove The pawn that can be captured en passant after this move, or null.
+     * @return The zobrist key of the board after this move.
+     */
+    protected long calculateZobristKey(final Piece pieceAfterMove, final Pawn enPassantPawnAfterMove) {
+        long zobristKey = this.board.getZobristKey();
+
+        zobristKey ^= ZobristHashing.pieceKey(this.movedPiece) ^ ZobristHashing.pieceKey(pieceAfterMove);
+
+        if (this.isAttack()) {
+            zobristKey ^= ZobristHashing.pieceKey(this.getAttackedPiece());
+        }
+
+        final int castlingRights = this.board.getCastlingRights();
+        zobristKey ^= ZobristHashing.castlingKey(castlingRights) ^
+                      ZobristHashing.castlingKey(BoardUtils.updateCastlingRights(castlingRights,
+                              this.getCurrentPosition(), this.destinationPosition));
+
+        zobristKey ^= ZobristHashing.enPassantKey(this.board.getEnPassantPawn()) ^
+                      ZobristHashing.enPassantKey(enPassantPawnAfterMove);
+
+        return zobristKey ^ ZobristHashing.sideToMoveKey();
+    }
+
     public static final class NormalMove extends Move {
 
         public NormalMove(Board board, Piece movedPiece, int destinationCoordinate) {
@@ -222,17 +243,14 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            Iterable<Piece> activePieces = board.getAllActivePieces();
+            final Builder builder = new Builder().setPieces(this.board)
+                                                 .removePiece(this.getCurrentPosition())
+                                                 .removePiece(this.attackedPiece.getPiecePosition());
 
-            for (final Piece piece : activePieces) {
-                if (!this.movedPiece.equals(piece) && !(this.attackedPiece.equals(piece))) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            builder.setPiece(this.movedPiece.movePiece(this));
+            final Piece pieceAfterMove = this.movedPiece.movePiece(this);
+            builder.setPiece(pieceAfterMove);
             builder.setNextTurnAlliance(this.board.getOpponentPlayer().getAlliance());
+            builder.setZobristKey(calculateZobristKey(pieceAfterMove, null));
             return builder.build();
         }
 
@@ -261,17 +279,17 @@ public abstract class Move {
         @Override
         public Board execute() {
             final Board boardAfterMove = this.decoratedMove.execute();
-            final Board.Builder builder = new Builder();
-            final Iterable<Piece> activePieces = boardAfterMove.getAllActivePieces();
-
-            for (final Piece piece : activePieces) {
-                if (!this.promotedPawn.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
+            // The promoted piece replaces the pawn on the destination.
+            final Board.Builder builder = new Builder().setPieces(boardAfterMove);
+            final Piece promotionPiece = this.promotedPawn.getPromotionPiece().movePiece(this);
+            builder.setPiece(promotionPiece);
             builder.setNextTurnAlliance(this.board.getOpponentPlayer().getAlliance());
+
+            // The decorated move has already been hashed, so only the pawn has to be swapped for the promoted piece.
+            final Piece pawnAfterMove = boardAfterMove.getTile(this.destinationPosition).getPiece();
+            builder.setZobristKey(boardAfterMove.getZobristKey() ^
+                                  ZobristHashing.pieceKey(pawnAfterMove) ^
+                                  ZobristHashing.pieceKey(promotionPiece));
             return builder.build();
         }
 
@@ -303,19 +321,12 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            final Iterable<Piece> activePieces = this.board.getAllActivePieces();
-
-            for (final Piece piece : activePieces) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
+            final Builder builder = new Builder().setPieces(this.board).removePiece(this.getCurrentPosition());
             final Pawn movedPawn = (Pawn) this.movedPiece.movePiece(this);
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setNextTurnAlliance(this.board.getOpponentPlayer().getAlliance());
+            builder.setZobristKey(calculateZobristKey(movedPawn, movedPawn));
 
             return builder.build();
         }
@@ -350,19 +361,19 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            final Iterable<Piece> activePieces = this.board.getAllActivePieces();
-
-            for (final Piece piece : activePieces) {
-                if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
+            final Builder builder = new Builder().setPieces(this.board)
+                                                 .removePiece(this.getCurrentPosition())
+                                                 .removePiece(this.castleRookStart);
 
             final King movedKing = (King) this.movedPiece.movePiece(this);
             builder.setPiece(movedKing);
-            builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getAlliance(), false));
+            final Rook movedRook = (Rook) PieceCache.getPiece(Piece.PieceType.ROOK, this.castleRook.getAlliance(),
+                                                              this.castleRookDestination, false);
+            builder.setPiece(movedRook);
             builder.setNextTurnAlliance(this.board.getOpponentPlayer().getAlliance());
+            builder.setZobristKey(calculateZobristKey(movedKing, null) ^
+                                  ZobristHashing.pieceKey(this.castleRook) ^
+                                  ZobristHashing.pieceKey(movedRook));
             return builder.build();
         }
 
@@ -418,15 +429,39 @@ public abstract class Move {
         }
     }
 
+    /**
+     * Passes the turn to the opponent without moving a piece. Not a legal chess move, but the search plays it to find
+     * out whether a position is so good that the opponent could not exploit a free move.
+     *
+     * NULL_MOVE has no board and cannot be executed; it only stands for the absence of a move.
+     */
     public static final class NullMove extends Move {
 
         public NullMove() {
             super(null,  65);
         }
 
+        public NullMove(final Board board) {
+            super(board, 65);
+        }
+
+        /**
+         * @return The same position with the other player to move. A pawn that could have been captured en passant no
+         * longer can, since the chance passes with the turn.
+         */
         @Override
         public Board execute() {
-            throw new RuntimeException("Cannot execute null move!");
+            if (this.board == null) {
+                throw new RuntimeException("Cannot execute null move!");
+            }
+
+            final Builder builder = new Builder().setPieces(this.board);
+            builder.setNextTurnAlliance(this.board.getOpponentPlayer().getAlliance());
+            builder.setZobristKey(this.board.getZobristKey() ^
+                                  ZobristHashing.enPassantKey(this.board.getEnPassantPawn()) ^
+                                  ZobristHashing.sideToMoveKey());
+
+            return builder.build();
         }
 
         @Override
@@ -441,15 +476,16 @@ public abstract class Move {
             throw new RuntimeException("Class not instantiable!");
         }
 
+        /**
+         * @return The legal move of either player between the positions, or NULL_MOVE if there is none. The opponent's
+         * moves are only calculated if the player to move has no such move.
+         */
         public static Move createMove(final Board board, final int currentPosition, final int destinationPosition) {
-
-            for(final Move move : board.getAllLegalMoves()) {
-                if (move.getCurrentPosition() == currentPosition &&
-                    move.getDestinationPosition() == destinationPosition) {
-                    return move;
-                }
+            Move move = board.getCurrentPlayer().getLegalMove(currentPosition, destinationPosition);
+            if (move == null) {
+                move = board.getOpponentPlayer().getLegalMove(currentPosition, destinationPosition);
             }
-            return NULL_MOVE;
+            return move != null ? move : NULL_MOVE;
         }
     }
 }
@@ -0,0 +1,59 @@
+package com.chess.engine.board;
+
+/**
+ * Reusable storage for the {@link PackedMove}s of every ply of a perft walk. Each ply has its own fixed array,
+ * allocated once, so that generating the moves of a position overwrites the moves of an earlier sibling rather than
+ * allocating a new list, while the moves of the plies above it are left intact.
+ *
+ * Perft and the tests are its only users. The alpha-beta search keeps the moves of each node in the collections of
+ * its Player.
+ */
+public final class MoveBuffer {
+
+    /**
+     * More than the largest number of legal moves in any chess position, which is 218.
+     */
+    public static final int MAX_MOVES = 256;
+
+    private final int[][] moves;
+    private final int[] sizes;
+
+    /**
+     * @param maxPly The number of plies the buffer holds moves for.
+     */
+    public MoveBuffer(final int maxPly) {
+        this.moves = new int[maxPly][MAX_MOVES];
+        this.sizes = new int[maxPly];
+    }
+
+    public void clear(final int ply) {
+        this.sizes[ply] = 0;
+    }
+
+    public void add(final int ply, final int move) {
+        this.moves[ply][this.sizes[ply]++] = move;
+    }
+
+    public int get(final int ply, final int index) {
+        return this.moves[ply][index];
+    }
+
+    public int size(final int ply) {
+        return this.sizes[ply];
+    }
+
+    /**
+     * @return The array backing the moves of the ply, whose first size(ply) entries are valid. Move ordering may
+     * rearrange them in place.
+     */
+    public int[] getMoves(final int ply) {
+        return this.moves[ply];
+    }
+
+    public void swap(final int ply, final int first, final int second) {
+        final int[] plyMoves = this.moves[ply];
+        final int move = plyMoves[first];
+        plyMoves[first] = plyMoves[second];
+        plyMoves[second] = move;
+    }
+}
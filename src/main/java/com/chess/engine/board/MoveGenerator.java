@@ -0,0 +1,410 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+/**
+ * Generates the {@link PackedMove}s of a {@link MutableBoard} into a {@link MoveBuffer}.
+ *
+ * The moves are pseudo-legal: they follow the movement rules, but some may leave the mover's king in check. Rather
+ * than executing every move and generating the opponent's replies to find out, legality is checked with isLegal() only
+ * when a move is about to be searched, and even then only for moves that can expose the king: moves of the king, of
+ * pinned pieces, en passant captures (which remove two pieces from a rank) and every move while in check. The common
+ * case, a piece that is not pinned moving while the king is not in check, is accepted without any work.
+ *
+ * Castling is the exception: the squares the king passes are checked for attacks when the move is generated.
+ *
+ * The legality check also works on the bitboards of an immutable {@link Board}. Player.makeMove() uses it to reject a
+ * move that leaves the king in check before building a board for it, so the searches, which take their moves from the
+ * pieces through Player, build boards only for the moves they play; and Player's checkmate and stalemate detection
+ * uses hasLegalMove(). Generating moves into a {@link MoveBuffer} is only used by {@link Perft}, which checks it
+ * against published move counts.
+ */
+public final class MoveGenerator {
+
+    private static final Piece.PieceType[] PROMOTION_TYPES = {
+            Piece.PieceType.QUEEN, Piece.PieceType.ROOK, Piece.PieceType.BISHOP, Piece.PieceType.KNIGHT
+    };
+    // The pieces other than pawns, whose moves are their attacks.
+    private static final Piece.PieceType[] PIECE_TYPES = {
+            Piece.PieceType.KNIGHT, Piece.PieceType.BISHOP, Piece.PieceType.ROOK, Piece.PieceType.QUEEN,
+            Piece.PieceType.KING
+    };
+
+    private MoveGenerator() {
+        throw new RuntimeException("The MoveGenerator class cannot be instantiated.");
+    }
+
+    /**
+     * Replaces the moves of the ply in the buffer with the pseudo-legal moves of the side to move.
+     */
+    public static void generatePseudoLegalMoves(final MutableBoard board, final MoveBuffer moveBuffer, final int ply) {
+        generateMoves(board, moveBuffer, ply, false);
+    }
+
+    /**
+     * Replaces the moves of the ply in the buffer with the pseudo-legal captures and promotions of the side to move,
+     * the moves followed by the quiescence search.
+     */
+    public static void generatePseudoLegalCaptures(final MutableBoard board, final MoveBuffer moveBuffer,
+                                                   final int ply) {
+        generateMoves(board, moveBuffer, ply, true);
+    }
+
+    /**
+     * Replaces the moves of the ply in the buffer with the legal moves of the side to move.
+     */
+    public static void generateLegalMoves(final MutableBoard board, final MoveBuffer moveBuffer, final int ply) {
+        generatePseudoLegalMoves(board, moveBuffer, ply);
+
+        final long restrictedPieces = calculateRestrictedPieces(board);
+        final int[] moves = moveBuffer.getMoves(ply);
+        final int size = moveBuffer.size(ply);
+        moveBuffer.clear(ply);
+
+        for (int i = 0; i < size; i++) {
+            if (isLegal(board, moves[i], restrictedPieces)) {
+                moveBuffer.add(ply, moves[i]);
+            }
+        }
+    }
+
+    /**
+     * Looks for a legal move of the alliance on the bitboards of an immutable {@link Board}, one piece at a time, and
+     * stops at the first, which is usually the first destination of a piece that is not pinned. No moves, boards or
+     * buffers are created. The alliance is checkmated or stalemated when there is none.
+     *
+     * Castling is left out, since it is never the only legal move: the king could stop on the square it passes instead,
+     * which castling requires to be empty and not attacked.
+     *
+     * @return true if the alliance has a legal move.
+     */
+    public static boolean hasLegalMove(final BitBoard bitBoard, final Alliance alliance) {
+        final long restrictedPieces = calculateRestrictedPieces(bitBoard, alliance);
+        final long ownOccupancy = bitBoard.getOccupancy(alliance);
+        final long opponentOccupancy = bitBoard.getOccupancy(MutableBoard.opponent(alliance));
+        final long occupancy = ownOccupancy | opponentOccupancy;
+        final long pawns = bitBoard.getPieces(Piece.PieceType.PAWN, alliance);
+
+        for (final Piece.PieceType pieceType : PIECE_TYPES) {
+            long pieces = bitBoard.getPieces(pieceType, alliance);
+            while (pieces != 0) {
+                final int position = Long.numberOfTrailingZeros(pieces);
+                final long destinations = attacks(pieceType, position, occupancy) & ~ownOccupancy;
+                if (hasLegalDestination(bitBoard, alliance, position, destinations, opponentOccupancy,
+                                        restrictedPieces)) {
+                    return true;
+                }
+                pieces &= pieces - 1;
+            }
+        }
+
+        // Only the side to move may capture en passant.
+        final int enPassantSquare = alliance == bitBoard.getSideToMove() ? bitBoard.getEnPassantSquare() :
+                                    BitBoard.NO_SQUARE;
+        long remainingPawns = pawns;
+        while (remainingPawns != 0) {
+            final int position = Long.numberOfTrailingZeros(remainingPawns);
+            final long pawnAttacks = AttackTables.pawnAttacks(alliance, position);
+            long destinations = pawnAttacks & opponentOccupancy;
+            final long push = AttackTables.pawnPushes(alliance, position) & ~occupancy;
+            if (push != 0) {
+                destinations |= push | (AttackTables.pawnDoublePushes(alliance, position) & ~occupancy);
+            }
+
+            if (hasLegalDestination(bitBoard, alliance, position, destinations, opponentOccupancy, restrictedPieces) ||
+                (enPassantSquare != BitBoard.NO_SQUARE && (pawnAttacks & BitBoard.squareBit(enPassantSquare)) != 0 &&
+                 isLegal(bitBoard, alliance, position, enPassantSquare,
+                         enPassantSquare - 8 * alliance.getDirection(), restrictedPieces))) {
+                return true;
+            }
+            remainingPawns &= remainingPawns - 1;
+        }
+
+        return false;
+    }
+
+    private static boolean hasLegalDestination(final BitBoard bitBoard, final Alliance alliance,
+                                               final int currentPosition, final long destinations,
+                                               final long opponentOccupancy, final long restrictedPieces) {
+        long remaining = destinations;
+        while (remaining != 0) {
+            final int destinationPosition = Long.numberOfTrailingZeros(remaining);
+            final int capturedPosition = (opponentOccupancy & BitBoard.squareBit(destinationPosition)) != 0 ?
+                                         destinationPosition : BitBoard.NO_SQUARE;
+            if (isLegal(bitBoard, alliance, currentPosition, destinationPosition, capturedPosition,
+                        restrictedPieces)) {
+                return true;
+            }
+            remaining &= remaining - 1;
+        }
+        return false;
+    }
+
+    private static long attacks(final Piece.PieceType pieceType, final int position, final long occupancy) {
+        switch (pieceType) {
+            case KNIGHT:
+                return AttackTables.knightAttacks(position);
+            case BISHOP:
+                return MagicBitboards.bishopAttacks(position, occupancy);
+            case ROOK:
+                return MagicBitboards.rookAttacks(position, occupancy);
+            case QUEEN:
+                return MagicBitboards.queenAttacks(position, occupancy);
+            default:
+                return AttackTables.kingAttacks(position);
+        }
+    }
+
+    /**
+     * @return The squares of the pieces of the side to move whose moves need a full legality check: pinned pieces and
+     * the king, or every piece when the king is in check.
+     */
+    public static long calculateRestrictedPieces(final MutableBoard board) {
+        final Alliance alliance = board.getSideToMove();
+        final Alliance opponent = MutableBoard.opponent(alliance);
+        final long queens = board.getPieces(Piece.PieceType.QUEEN, opponent);
+
+        return calculateRestrictedPieces(board.getKingPosition(alliance), board.isInCheck(),
+                                         board.getOccupancy(alliance), board.getOccupancy(opponent),
+                                         board.getPieces(Piece.PieceType.ROOK, opponent) | queens,
+                                         board.getPieces(Piece.PieceType.BISHOP, opponent) | queens);
+    }
+
+    /**
+     * The same as calculateRestrictedPieces(MutableBoard) for the pieces of either alliance on the bitboards of an
+     * immutable {@link Board}, so that a Player can check the moves of its pieces before building a board for them.
+     */
+    public static long calculateRestrictedPieces(final BitBoard bitBoard, final Alliance alliance) {
+        final Alliance opponent = MutableBoard.opponent(alliance);
+        final int kingPosition = Long.numberOfTrailingZeros(bitBoard.getPieces(Piece.PieceType.KING, alliance));
+        final long queens = bitBoard.getPieces(Piece.PieceType.QUEEN, opponent);
+
+        return calculateRestrictedPieces(kingPosition, bitBoard.isSquareAttacked(kingPosition, opponent),
+                                         bitBoard.getOccupancy(alliance), bitBoard.getOccupancy(opponent),
+                                         bitBoard.getPieces(Piece.PieceType.ROOK, opponent) | queens,
+                                         bitBoard.getPieces(Piece.PieceType.BISHOP, opponent) | queens);
+    }
+
+    private static long calculateRestrictedPieces(final int kingPosition, final boolean isInCheck,
+                                                  final long ownOccupancy, final long opponentOccupancy,
+                                                  final long orthogonalSliders, final long diagonalSliders) {
+        if (isInCheck) {
+            return ownOccupancy;
+        }
+
+        // Sliders that would attack the king if the side to move had no pieces; any of them may be pinning one.
+        long pinners = (MagicBitboards.rookAttacks(kingPosition, opponentOccupancy) & orthogonalSliders) |
+                       (MagicBitboards.bishopAttacks(kingPosition, opponentOccupancy) & diagonalSliders);
+
+        long restrictedPieces = BitBoard.squareBit(kingPosition);
+        while (pinners != 0) {
+            final long blockers = AttackTables.between(kingPosition, Long.numberOfTrailingZeros(pinners)) &
+                                  (ownOccupancy | opponentOccupancy);
+            // A single blocker of the side to move is pinned.
+            if (Long.bitCount(blockers) == 1) {
+                restrictedPieces |= blockers & ownOccupancy;
+            }
+            pinners &= pinners - 1;
+        }
+
+        return restrictedPieces;
+    }
+
+    /**
+     * @param move A pseudo-legal move of the side to move.
+     * @param restrictedPieces The result of calculateRestrictedPieces() for the position.
+     * @return true if the move does not leave the mover's king in check.
+     */
+    public static boolean isLegal(final MutableBoard board, final int move, final long restrictedPieces) {
+        if ((restrictedPieces & BitBoard.squareBit(PackedMove.getCurrentPosition(move))) == 0 &&
+            !PackedMove.isEnPassantCapture(move)) {
+            return true;
+        }
+
+        final Alliance alliance = board.getSideToMove();
+        board.makeMove(move);
+        final boolean isLegal = !board.isInCheck(alliance);
+        board.unmakeMove();
+        return isLegal;
+    }
+
+    /**
+     * isLegal() for a move on an immutable board, which cannot be made and unmade. A restricted move is checked by
+     * looking for attacks on the king with the occupancy the move would leave, ignoring the piece it would capture.
+     *
+     * @param capturedPosition The position of the piece the move captures, which differs from the destination for an
+     * en passant capture, or BitBoard.NO_SQUARE.
+     * @param restrictedPieces The result of calculateRestrictedPieces() for the alliance.
+     * @return true if the move does not leave the king of the alliance in check.
+     */
+    public static boolean isLegal(final BitBoard bitBoard, final Alliance alliance, final int currentPosition,
+                                  final int destinationPosition, final int capturedPosition,
+                                  final long restrictedPieces) {
+        final long currentBit = BitBoard.squareBit(currentPosition);
+        if ((restrictedPieces & currentBit) == 0 &&
+            (capturedPosition == BitBoard.NO_SQUARE || capturedPosition == destinationPosition)) {
+            return true;
+        }
+
+        final long capturedBit = capturedPosition == BitBoard.NO_SQUARE ? 0L : BitBoard.squareBit(capturedPosition);
+        final long occupancy = (bitBoard.getOccupancy() & ~currentBit & ~capturedBit) |
+                               BitBoard.squareBit(destinationPosition);
+        final long king = bitBoard.getPieces(Piece.PieceType.KING, alliance);
+        final int kingPosition = (king & currentBit) != 0 ? destinationPosition : Long.numberOfTrailingZeros(king);
+
+        return !bitBoard.isSquareAttacked(kingPosition, MutableBoard.opponent(alliance), occupancy, capturedBit);
+    }
+
+    private static void generateMoves(final MutableBoard board, final MoveBuffer moveBuffer, final int ply,
+                                      final boolean isCapturesOnly) {
+        moveBuffer.clear(ply);
+
+        final Alliance alliance = board.getSideToMove();
+        final long ownOccupancy = board.getOccupancy(alliance);
+        final long opponentOccupancy = board.getOccupancy(MutableBoard.opponent(alliance));
+        final long occupancy = ownOccupancy | opponentOccupancy;
+        final long targets = isCapturesOnly ? opponentOccupancy : ~ownOccupancy;
+
+        generatePawnMoves(board, moveBuffer, ply, alliance, occupancy, opponentOccupancy, isCapturesOnly);
+
+        long knights = board.getPieces(Piece.PieceType.KNIGHT, alliance);
+        while (knights != 0) {
+            final int position = Long.numberOfTrailingZeros(knights);
+            addMoves(moveBuffer, ply, position, AttackTables.knightAttacks(position) & targets, opponentOccupancy);
+            knights &= knights - 1;
+        }
+
+        long bishops = board.getPieces(Piece.PieceType.BISHOP, alliance);
+        while (bishops != 0) {
+            final int position = Long.numberOfTrailingZeros(bishops);
+            addMoves(moveBuffer, ply, position, MagicBitboards.bishopAttacks(position, occupancy) & targets,
+                     opponentOccupancy);
+            bishops &= bishops - 1;
+        }
+
+        long rooks = board.getPieces(Piece.PieceType.ROOK, alliance);
+        while (rooks != 0) {
+            final int position = Long.numberOfTrailingZeros(rooks);
+            addMoves(moveBuffer, ply, position, MagicBitboards.rookAttacks(position, occupancy) & targets,
+                     opponentOccupancy);
+            rooks &= rooks - 1;
+        }
+
+        long queens = board.getPieces(Piece.PieceType.QUEEN, alliance);
+        while (queens != 0) {
+            final int position = Long.numberOfTrailingZeros(queens);
+            addMoves(moveBuffer, ply, position, MagicBitboards.queenAttacks(position, occupancy) & targets,
+                     opponentOccupancy);
+            queens &= queens - 1;
+        }
+
+        final int kingPosition = board.getKingPosition(alliance);
+        addMoves(moveBuffer, ply, kingPosition, AttackTables.kingAttacks(kingPosition) & targets, opponentOccupancy);
+
+        if (!isCapturesOnly) {
+            generateCastleMoves(board, moveBuffer, ply, alliance, kingPosition, occupancy);
+        }
+    }
+
+    private static void generatePawnMoves(final MutableBoard board, final MoveBuffer moveBuffer, final int ply,
+                                          final Alliance alliance, final long occupancy,
+                                          final long opponentOccupancy, final boolean isCapturesOnly) {
+        final int enPassantSquare = board.getEnPassantSquare();
+        long pawns = board.getPieces(Piece.PieceType.PAWN, alliance);
+
+        while (pawns != 0) {
+            final int position = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+
+            final long push = AttackTables.pawnPushes(alliance, position) & ~occupancy;
+            if (push != 0) {
+                final int pushPosition = Long.numberOfTrailingZeros(push);
+                if (alliance.isPawnPromotionSquare(pushPosition)) {
+                    addPromotions(moveBuffer, ply, position, pushPosition, 0);
+                } else if (!isCapturesOnly) {
+                    moveBuffer.add(ply, PackedMove.create(position, pushPosition, PackedMove.QUIET));
+
+                    final long doublePush = AttackTables.pawnDoublePushes(alliance, position) & ~occupancy;
+                    if (doublePush != 0) {
+                        moveBuffer.add(ply, PackedMove.create(position, Long.numberOfTrailingZeros(doublePush),
+                                                              PackedMove.DOUBLE_PAWN_PUSH));
+                    }
+                }
+            }
+
+            final long attacks = AttackTables.pawnAttacks(alliance, position);
+            long captures = attacks & opponentOccupancy;
+            while (captures != 0) {
+                final int capturePosition = Long.numberOfTrailingZeros(captures);
+                if (alliance.isPawnPromotionSquare(capturePosition)) {
+                    addPromotions(moveBuffer, ply, position, capturePosition, PackedMove.CAPTURE);
+                } else {
+                    moveBuffer.add(ply, PackedMove.create(position, capturePosition, PackedMove.CAPTURE));
+                }
+                captures &= captures - 1;
+            }
+
+            if (enPassantSquare != BitBoard.NO_SQUARE && (attacks & BitBoard.squareBit(enPassantSquare)) != 0) {
+                moveBuffer.add(ply, PackedMove.create(position, enPassantSquare, PackedMove.EN_PASSANT_CAPTURE));
+            }
+        }
+    }
+
+    private static void addPromotions(final MoveBuffer moveBuffer, final int ply, final int currentPosition,
+                                      final int destinationPosition, final int captureFlags) {
+        for (final Piece.PieceType promotionType : PROMOTION_TYPES) {
+            moveBuffer.add(ply, PackedMove.create(currentPosition, destinationPosition,
+                                                  PackedMove.promotionFlags(promotionType) | captureFlags));
+        }
+    }
+
+    /**
+     * The king may not castle out of, through or into check, so unlike other moves castling is only generated when
+     * legal. The castling rights guarantee that the king and rook are on their starting squares.
+     */
+    private static void generateCastleMoves(final MutableBoard board, final MoveBuffer moveBuffer, final int ply,
+                                            final Alliance alliance, final int kingPosition, final long occupancy) {
+        final int castlingRights = board.getCastlingRights();
+        final int kingSideRight = alliance.isWhite() ? BoardUtils.WHITE_KING_SIDE_CASTLE :
+                                  BoardUtils.BLACK_KING_SIDE_CASTLE;
+        final int queenSideRight = alliance.isWhite() ? BoardUtils.WHITE_QUEEN_SIDE_CASTLE :
+                                   BoardUtils.BLACK_QUEEN_SIDE_CASTLE;
+
+        if ((castlingRights & (kingSideRight | queenSideRight)) == 0) {
+            return;
+        }
+
+        final Alliance opponent = MutableBoard.opponent(alliance);
+        if (board.isSquareAttacked(kingPosition, opponent)) {
+            return;
+        }
+
+        if ((castlingRights & kingSideRight) != 0 &&
+            (occupancy & (BitBoard.squareBit(kingPosition + 1) | BitBoard.squareBit(kingPosition + 2))) == 0 &&
+            !board.isSquareAttacked(kingPosition + 1, opponent) &&
+            !board.isSquareAttacked(kingPosition + 2, opponent)) {
+            moveBuffer.add(ply, PackedMove.create(kingPosition, kingPosition + 2, PackedMove.KING_SIDE_CASTLE));
+        }
+
+        if ((castlingRights & queenSideRight) != 0 &&
+            (occupancy & (BitBoard.squareBit(kingPosition - 1) | BitBoard.squareBit(kingPosition - 2) |
+                          BitBoard.squareBit(kingPosition - 3))) == 0 &&
+            !board.isSquareAttacked(kingPosition - 1, opponent) &&
+            !board.isSquareAttacked(kingPosition - 2, opponent)) {
+            moveBuffer.add(ply, PackedMove.create(kingPosition, kingPosition - 2, PackedMove.QUEEN_SIDE_CASTLE));
+        }
+    }
+
+    private static void addMoves(final MoveBuffer moveBuffer, final int ply, final int currentPosition,
+                                 final long destinations, final long opponentOccupancy) {
+        long remaining = destinations;
+        while (remaining != 0) {
+            final int destinationPosition = Long.numberOfTrailingZeros(remaining);
+            final int flags = (opponentOccupancy & BitBoard.squareBit(destinationPosition)) != 0 ?
+                              PackedMove.CAPTURE : PackedMove.QUIET;
+            moveBuffer.add(ply, PackedMove.create(currentPosition, destinationPosition, flags));
+            remaining &= remaining - 1;
+        }
+    }
+}
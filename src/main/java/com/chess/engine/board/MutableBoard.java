@@ -0,0 +1,391 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.*;
+
+import java.util.Arrays;
+
+/**
+ * A mutable position for {@link Perft}, changed in place by makeMove() and restored by unmakeMove().
+ *
+ * Executing a {@link Move} on the immutable {@link Board} builds a new board, its tiles and pieces and the legal moves
+ * of both players. Here a move only updates a few bitboards, a mailbox of piece codes and the zobrist key, and pushes
+ * what it cannot recompute (the captured piece, castling rights, en passant square, key) onto an undo stack of
+ * primitive arrays, so that making and unmaking a move allocates nothing.
+ *
+ * The board also tracks which pieces have never moved and which kings have castled, so that toBoard() recreates the
+ * pieces of the board it was built from exactly. The bitboards follow the layout of {@link BitBoard}.
+ *
+ * Only Perft and the tests use it. MiniMax, AlphaBeta, quiescence and the parallel searches execute every move on a
+ * Board and build a new one per node, because their BoardEvaluator scores a Board; moving them over would take an
+ * evaluator written against this class.
+ */
+public final class MutableBoard {
+
+    public static final int EMPTY = -1;
+
+    private static final int PIECE_TYPE_COUNT = Piece.PieceType.values().length;
+    // Deep enough for a search line; the stack doubles if a longer game is played on the board.
+    private static final int INITIAL_UNDO_CAPACITY = 16;
+
+    private final long[] pieceBoards = new long[Alliance.values().length * PIECE_TYPE_COUNT];
+    private final long[] occupancy = new long[Alliance.values().length];
+    private final int[] mailbox = new int[64]; // the piece code on each square, or EMPTY
+
+    private Alliance sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private long unmovedPieces;
+    private int castledKings; // bit set of alliance ordinals
+    private long zobristKey;
+
+    private int undoCount;
+    private int[] undoCurrentPositions = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoDestinationPositions = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoMovedPieces = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoCapturedPieces = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoCapturePositions = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoCastlingRights = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoEnPassantSquares = new int[INITIAL_UNDO_CAPACITY];
+    private int[] undoCastledKings = new int[INITIAL_UNDO_CAPACITY];
+    private long[] undoUnmovedPieces = new long[INITIAL_UNDO_CAPACITY];
+    private long[] undoZobristKeys = new long[INITIAL_UNDO_CAPACITY];
+
+    /**
+     * @param board The position to copy. The two boards are independent afterwards.
+     */
+    public MutableBoard(final Board board) {
+        Arrays.fill(this.mailbox, EMPTY);
+
+        for (final Piece piece : board.getAllActivePieces()) {
+            final int position = piece.getPiecePosition();
+            final int pieceCode = pieceCode(piece.getPieceType(), piece.getAlliance());
+            this.pieceBoards[pieceCode] |= BitBoard.squareBit(position);
+            this.occupancy[piece.getAlliance().ordinal()] |= BitBoard.squareBit(position);
+            this.mailbox[position] = pieceCode;
+
+            if (piece.isFirstMove()) {
+                this.unmovedPieces |= BitBoard.squareBit(position);
+            }
+            if (piece instanceof King && ((King) piece).isCastled()) {
+                this.castledKings |= 1 << piece.getAlliance().ordinal();
+            }
+        }
+
+        this.sideToMove = board.getCurrentPlayer().getAlliance();
+        this.castlingRights = board.getCastlingRights();
+        this.enPassantSquare = board.getBitBoard().getEnPassantSquare();
+        this.zobristKey = board.getZobristKey();
+    }
+
+    /**
+     * Makes a move of the side to move. Castling, en passant and double pushes are recognised from the squares, so the
+     * move need not be legal, but it must be pseudo-legal: the piece on the current position belongs to the side to
+     * move and can reach the destination.
+     *
+     * @param promotionType The piece a pawn reaching the last rank becomes, or null for a queen. Ignored otherwise.
+     */
+    public void makeMove(final int currentPosition, final int destinationPosition,
+                         final Piece.PieceType promotionType) {
+        final int movedPiece = this.mailbox[currentPosition];
+        final Piece.PieceType movedType = pieceType(movedPiece);
+        final Alliance alliance = this.sideToMove;
+
+        final boolean isEnPassant = movedType == Piece.PieceType.PAWN && destinationPosition == this.enPassantSquare;
+        final int capturePosition = isEnPassant ? destinationPosition - 8 * alliance.getDirection() :
+                                    destinationPosition;
+        final int capturedPiece = this.mailbox[capturePosition];
+
+        pushUndo(currentPosition, destinationPosition, movedPiece, capturedPiece, capturePosition);
+
+        if (capturedPiece != EMPTY) {
+            removePiece(capturePosition, capturedPiece);
+        }
+        removePiece(currentPosition, movedPiece);
+
+        if (movedType == Piece.PieceType.PAWN && alliance.isPawnPromotionSquare(destinationPosition)) {
+            placePiece(destinationPosition,
+                       pieceCode(promotionType != null ? promotionType : Piece.PieceType.QUEEN, alliance));
+        } else {
+            placePiece(destinationPosition, movedPiece);
+        }
+
+        long movedSquares = BitBoard.squareBit(currentPosition) | BitBoard.squareBit(destinationPosition) |
+                            BitBoard.squareBit(capturePosition);
+
+        if (movedType == Piece.PieceType.KING && Math.abs(destinationPosition - currentPosition) == 2) {
+            final int rookPosition = castleRookPosition(destinationPosition);
+            final int rookDestination = (currentPosition + destinationPosition) / 2;
+            final int rook = this.mailbox[rookPosition];
+            removePiece(rookPosition, rook);
+            placePiece(rookDestination, rook);
+            movedSquares |= BitBoard.squareBit(rookPosition);
+            this.castledKings |= 1 << alliance.ordinal();
+        }
+
+        this.unmovedPieces &= ~movedSquares;
+
+        final int castlingRightsAfterMove = BoardUtils.updateCastlingRights(this.castlingRights, currentPosition,
+                                                                            destinationPosition);
+        this.zobristKey ^= ZobristHashing.castlingKey(this.castlingRights) ^
+                           ZobristHashing.castlingKey(castlingRightsAfterMove);
+        this.castlingRights = castlingRightsAfterMove;
+
+        final int enPassantSquareAfterMove =
+                movedType == Piece.PieceType.PAWN && Math.abs(destinationPosition - currentPosition) == 16 ?
+                (currentPosition + destinationPosition) / 2 : BitBoard.NO_SQUARE;
+        passTurn(enPassantSquareAfterMove);
+    }
+
+    public void makeMove(final Move move) {
+        makeMove(move.getCurrentPosition(), move.getDestinationPosition(), null);
+    }
+
+    /**
+     * @param move A {@link PackedMove} of the side to move.
+     */
+    public void makeMove(final int move) {
+        makeMove(PackedMove.getCurrentPosition(move), PackedMove.getDestinationPosition(move),
+                 PackedMove.getPromotionType(move));
+    }
+
+    /**
+     * Passes the turn without moving a piece, as the null-move search does. Undone by unmakeMove().
+     */
+    public void makeNullMove() {
+        pushUndo(BitBoard.NO_SQUARE, BitBoard.NO_SQUARE, EMPTY, EMPTY, BitBoard.NO_SQUARE);
+        passTurn(BitBoard.NO_SQUARE);
+    }
+
+    /**
+     * Takes back the last move, or null move, that has not been taken back yet.
+     */
+    public void unmakeMove() {
+        if (this.undoCount == 0) {
+            throw new IllegalStateException("There is no move to unmake.");
+        }
+        final int index = --this.undoCount;
+        final int currentPosition = this.undoCurrentPositions[index];
+        final int destinationPosition = this.undoDestinationPositions[index];
+        final int movedPiece = this.undoMovedPieces[index];
+
+        this.sideToMove = opponent(this.sideToMove);
+
+        if (currentPosition != BitBoard.NO_SQUARE) {
+            if (pieceType(movedPiece) == Piece.PieceType.KING &&
+                Math.abs(destinationPosition - currentPosition) == 2) {
+                final int rookDestination = (currentPosition + destinationPosition) / 2;
+                final int rook = this.mailbox[rookDestination];
+                removePiece(rookDestination, rook);
+                placePiece(castleRookPosition(destinationPosition), rook);
+            }
+
+            removePiece(destinationPosition, this.mailbox[destinationPosition]);
+            placePiece(currentPosition, movedPiece);
+
+            if (this.undoCapturedPieces[index] != EMPTY) {
+                placePiece(this.undoCapturePositions[index], this.undoCapturedPieces[index]);
+            }
+        }
+
+        // Placing and removing pieces changed the key, but it is restored as a whole.
+        this.castlingRights = this.undoCastlingRights[index];
+        this.enPassantSquare = this.undoEnPassantSquares[index];
+        this.castledKings = this.undoCastledKings[index];
+        this.unmovedPieces = this.undoUnmovedPieces[index];
+        this.zobristKey = this.undoZobristKeys[index];
+    }
+
+    /**
+     * @return An immutable board of the current position, with the same pieces, including whether they have moved.
+     */
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+
+        long remaining = getOccupancy();
+        while (remaining != 0) {
+            final int position = Long.numberOfTrailingZeros(remaining);
+            builder.setPiece(createPiece(position));
+            remaining &= remaining - 1;
+        }
+
+        builder.setNextTurnAlliance(this.sideToMove);
+        if (this.enPassantSquare != BitBoard.NO_SQUARE) {
+            builder.setEnPassantPawn((Pawn) createPiece(this.enPassantSquare - 8 * this.sideToMove.getDirection()));
+        }
+        builder.setZobristKey(this.zobristKey);
+
+        return builder.build();
+    }
+
+    /**
+     * @return true if a piece of the attacking alliance attacks the position, whatever stands on it.
+     */
+    public boolean isSquareAttacked(final int position, final Alliance attacker) {
+        final long occupancy = getOccupancy();
+        final long queens = getPieces(Piece.PieceType.QUEEN, attacker);
+
+        // The pawns attacking a square stand where an opposing pawn on that square would attack.
+        return (AttackTables.pawnAttacks(opponent(attacker), position) &
+                getPieces(Piece.PieceType.PAWN, attacker)) != 0 ||
+               (AttackTables.knightAttacks(position) & getPieces(Piece.PieceType.KNIGHT, attacker)) != 0 ||
+               (AttackTables.kingAttacks(position) & getPieces(Piece.PieceType.KING, attacker)) != 0 ||
+               (MagicBitboards.bishopAttacks(position, occupancy) &
+                (getPieces(Piece.PieceType.BISHOP, attacker) | queens)) != 0 ||
+               (MagicBitboards.rookAttacks(position, occupancy) &
+                (getPieces(Piece.PieceType.ROOK, attacker) | queens)) != 0;
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        return isSquareAttacked(getKingPosition(alliance), opponent(alliance));
+    }
+
+    /**
+     * @return true if the side to move is in check.
+     */
+    public boolean isInCheck() {
+        return isInCheck(this.sideToMove);
+    }
+
+    public int getKingPosition(final Alliance alliance) {
+        return Long.numberOfTrailingZeros(getPieces(Piece.PieceType.KING, alliance));
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public long getPieces(final Piece.PieceType pieceType, final Alliance alliance) {
+        return this.pieceBoards[pieceCode(pieceType, alliance)];
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return this.occupancy[alliance.ordinal()];
+    }
+
+    public long getOccupancy() {
+        return this.occupancy[0] | this.occupancy[1];
+    }
+
+    /**
+     * @return The code of the piece on the position, alliance ordinal * 6 + piece type ordinal, or EMPTY.
+     */
+    public int getPieceCode(final int position) {
+        return this.mailbox[position];
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * @return The square a pawn passed over with a double push on the previous move, or BitBoard.NO_SQUARE.
+     */
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    /**
+     * @return The zobrist key of the position, equal to that of the equivalent {@link Board}.
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * @return The number of moves made that have not been unmade.
+     */
+    public int getPly() {
+        return this.undoCount;
+    }
+
+    public static int pieceCode(final Piece.PieceType pieceType, final Alliance alliance) {
+        return alliance.ordinal() * PIECE_TYPE_COUNT + pieceType.ordinal();
+    }
+
+    public static Piece.PieceType pieceType(final int pieceCode) {
+        return Piece.PieceType.values()[pieceCode % PIECE_TYPE_COUNT];
+    }
+
+    public static Alliance alliance(final int pieceCode) {
+        return Alliance.values()[pieceCode / PIECE_TYPE_COUNT];
+    }
+
+    private void passTurn(final int enPassantSquareAfterMove) {
+        this.zobristKey ^= ZobristHashing.enPassantKey(this.enPassantSquare) ^
+                           ZobristHashing.enPassantKey(enPassantSquareAfterMove) ^
+                           ZobristHashing.sideToMoveKey();
+        this.enPassantSquare = enPassantSquareAfterMove;
+        this.sideToMove = opponent(this.sideToMove);
+    }
+
+    private void placePiece(final int position, final int pieceCode) {
+        this.pieceBoards[pieceCode] |= BitBoard.squareBit(position);
+        this.occupancy[pieceCode / PIECE_TYPE_COUNT] |= BitBoard.squareBit(position);
+        this.mailbox[position] = pieceCode;
+        this.zobristKey ^= ZobristHashing.pieceKey(pieceType(pieceCode), alliance(pieceCode), position);
+    }
+
+    private void removePiece(final int position, final int pieceCode) {
+        this.pieceBoards[pieceCode] &= ~BitBoard.squareBit(position);
+        this.occupancy[pieceCode / PIECE_TYPE_COUNT] &= ~BitBoard.squareBit(position);
+        this.mailbox[position] = EMPTY;
+        this.zobristKey ^= ZobristHashing.pieceKey(pieceType(pieceCode), alliance(pieceCode), position);
+    }
+
+    private void pushUndo(final int currentPosition, final int destinationPosition, final int movedPiece,
+                          final int capturedPiece, final int capturePosition) {
+        if (this.undoCount == this.undoZobristKeys.length) {
+            growUndoStack();
+        }
+        final int index = this.undoCount++;
+        this.undoCurrentPositions[index] = currentPosition;
+        this.undoDestinationPositions[index] = destinationPosition;
+        this.undoMovedPieces[index] = movedPiece;
+        this.undoCapturedPieces[index] = capturedPiece;
+        this.undoCapturePositions[index] = capturePosition;
+        this.undoCastlingRights[index] = this.castlingRights;
+        this.undoEnPassantSquares[index] = this.enPassantSquare;
+        this.undoCastledKings[index] = this.castledKings;
+        this.undoUnmovedPieces[index] = this.unmovedPieces;
+        this.undoZobristKeys[index] = this.zobristKey;
+    }
+
+    private void growUndoStack() {
+        final int capacity = this.undoZobristKeys.length * 2;
+        this.undoCurrentPositions = Arrays.copyOf(this.undoCurrentPositions, capacity);
+        this.undoDestinationPositions = Arrays.copyOf(this.undoDestinationPositions, capacity);
+        this.undoMovedPieces = Arrays.copyOf(this.undoMovedPieces, capacity);
+        this.undoCapturedPieces = Arrays.copyOf(this.undoCapturedPieces, capacity);
+        this.undoCapturePositions = Arrays.copyOf(this.undoCapturePositions, capacity);
+        this.undoCastlingRights = Arrays.copyOf(this.undoCastlingRights, capacity);
+        this.undoEnPassantSquares = Arrays.copyOf(this.undoEnPassantSquares, capacity);
+        this.undoCastledKings = Arrays.copyOf(this.undoCastledKings, capacity);
+        this.undoUnmovedPieces = Arrays.copyOf(this.undoUnmovedPieces, capacity);
+        this.undoZobristKeys = Arrays.copyOf(this.undoZobristKeys, capacity);
+    }
+
+    private Piece createPiece(final int position) {
+        final int pieceCode = this.mailbox[position];
+        final Alliance alliance = alliance(pieceCode);
+        final boolean isFirstMove = (this.unmovedPieces & BitBoard.squareBit(position)) != 0;
+
+        if (pieceType(pieceCode).isKing()) {
+            return PieceCache.getKing(alliance, position, isFirstMove,
+                                      (this.castledKings & (1 << alliance.ordinal())) != 0);
+        }
+        return PieceCache.getPiece(pieceType(pieceCode), alliance, position, isFirstMove);
+    }
+
+    /**
+     * @param kingDestination The square a castling king moves to.
+     * @return The corner the rook castles from: the h-file beyond the king's destination, or the a-file.
+     */
+    private static int castleRookPosition(final int kingDestination) {
+        return kingDestination % 8 == 6 ? kingDestination + 1 : kingDestination - 2;
+    }
+
+    static Alliance opponent(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+}
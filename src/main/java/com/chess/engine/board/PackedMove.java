@@ -0,0 +1,159 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+
+/**
+ * Moves packed into the low 16 bits of an int, for move generation on a {@link MutableBoard}, which would otherwise
+ * allocate a {@link Move} (holding its board and piece) for every move it produces.
+ *
+ * <pre>
+ *   bits 0-5    current position
+ *   bits 6-11   destination position
+ *   bits 12-15  flags: 0 quiet, 1 double pawn push, 2 king side castle, 3 queen side castle, 4 capture,
+ *               5 en passant capture, 8-11 promotion to knight, bishop, rook or queen, 12-15 the same with a capture
+ * </pre>
+ *
+ * So bit 14 marks a capture and bit 15 a promotion. No move goes from a square to itself, so 0 is never a move and
+ * stands for NO_MOVE. The static methods convert to and from the {@link Move} objects used by the players and the GUI.
+ *
+ * Only {@link MoveGenerator}, {@link Perft} and the tests work with packed moves. The searches and the players still
+ * create a Move object for every move they consider.
+ */
+public final class PackedMove {
+
+    public static final int NO_MOVE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_SIDE_CASTLE = 2;
+    public static final int QUEEN_SIDE_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT_CAPTURE = 5;
+    public static final int KNIGHT_PROMOTION = 8;
+    public static final int BISHOP_PROMOTION = 9;
+    public static final int ROOK_PROMOTION = 10;
+    public static final int QUEEN_PROMOTION = 11;
+
+    private static final int CAPTURE_FLAG = 4;
+    private static final int PROMOTION_FLAG = 8;
+
+    private static final Piece.PieceType[] PROMOTION_TYPES = {
+            Piece.PieceType.KNIGHT, Piece.PieceType.BISHOP, Piece.PieceType.ROOK, Piece.PieceType.QUEEN
+    };
+
+    private PackedMove() {
+        throw new RuntimeException("The PackedMove class cannot be instantiated.");
+    }
+
+    public static int create(final int currentPosition, final int destinationPosition, final int flags) {
+        return currentPosition | destinationPosition << 6 | flags << 12;
+    }
+
+    public static int getCurrentPosition(final int move) {
+        return move & 0x3F;
+    }
+
+    public static int getDestinationPosition(final int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    public static int getFlags(final int move) {
+        return (move >>> 12) & 0xF;
+    }
+
+    public static boolean isCapture(final int move) {
+        return (getFlags(move) & CAPTURE_FLAG) != 0;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (getFlags(move) & PROMOTION_FLAG) != 0;
+    }
+
+    public static boolean isEnPassantCapture(final int move) {
+        return getFlags(move) == EN_PASSANT_CAPTURE;
+    }
+
+    public static boolean isCastle(final int move) {
+        return getFlags(move) == KING_SIDE_CASTLE || getFlags(move) == QUEEN_SIDE_CASTLE;
+    }
+
+    /**
+     * @return The piece a promoting pawn becomes, or null if the move is not a promotion.
+     */
+    public static Piece.PieceType getPromotionType(final int move) {
+        return isPromotion(move) ? PROMOTION_TYPES[getFlags(move) & 3] : null;
+    }
+
+    /**
+     * @param pieceType A knight, bishop, rook or queen.
+     * @return The promotion flags for the piece, without the capture bit.
+     */
+    public static int promotionFlags(final Piece.PieceType pieceType) {
+        switch (pieceType) {
+            case KNIGHT:
+                return KNIGHT_PROMOTION;
+            case BISHOP:
+                return BISHOP_PROMOTION;
+            case ROOK:
+                return ROOK_PROMOTION;
+            case QUEEN:
+                return QUEEN_PROMOTION;
+            default:
+                throw new IllegalArgumentException("A pawn cannot promote to a " + pieceType);
+        }
+    }
+
+    /**
+     * @param move A move of the existing move classes. Promotions always become queens there.
+     * @return The packed equivalent of the move, or NO_MOVE for a null move.
+     */
+    public static int fromMove(final Move move) {
+        if (move.getMovedPiece() == null) {
+            return NO_MOVE;
+        }
+
+        final int flags;
+        if (move instanceof Move.PawnPromotionMove) {
+            flags = QUEEN_PROMOTION | (move.isAttack() ? CAPTURE_FLAG : 0);
+        } else if (move instanceof Move.PawnEnPassantCaptureMove) {
+            flags = EN_PASSANT_CAPTURE;
+        } else if (move.isAttack()) {
+            flags = CAPTURE;
+        } else if (move instanceof Move.PawnJump) {
+            flags = DOUBLE_PAWN_PUSH;
+        } else if (move instanceof Move.KingSideCastleMove) {
+            flags = KING_SIDE_CASTLE;
+        } else if (move instanceof Move.QueenSideCastleMove) {
+            flags = QUEEN_SIDE_CASTLE;
+        } else {
+            flags = QUIET;
+        }
+
+        return create(move.getCurrentPosition(), move.getDestinationPosition(), flags);
+    }
+
+    /**
+     * @param board The board the move is played on.
+     * @param move A packed move of the player to move.
+     * @return The legal move of the board with the same squares, or Move.NULL_MOVE if there is none. The board only
+     * generates promotions to a queen, which any promotion is mapped to.
+     */
+    public static Move toMove(final Board board, final int move) {
+        if (move == NO_MOVE) {
+            return Move.NULL_MOVE;
+        }
+        return Move.MoveFactory.createMove(board, getCurrentPosition(move), getDestinationPosition(move));
+    }
+
+    /**
+     * @return The move in coordinate notation, such as "e2e4" or "e7e8q".
+     */
+    public static String toString(final int move) {
+        if (move == NO_MOVE) {
+            return "0000";
+        }
+        final String squares = BoardUtils.getPGNSquare(getCurrentPosition(move)) +
+                               BoardUtils.getPGNSquare(getDestinationPosition(move));
+        return isPromotion(move) ? squares + getPromotionType(move).toString().toLowerCase() : squares;
+    }
+}
@@ -0,0 +1,200 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Performance test ("perft") of the move generators: counts the positions reachable from a board in exactly a given
+ * number of moves. The counts of many positions are published, and any bug in move generation or in making and
+ * unmaking moves changes them, so they check the generators as well as time them.
+ *
+ * perft(), perftStatistics() and divide() count with {@link MoveGenerator} on a {@link MutableBoard}, including every
+ * promotion, and match the published counts. perftMoves() counts with the {@link Move} classes the players generate
+ * from the pieces, which only promote to a queen; its counts equal perftQueenPromotions(), not the published ones.
+ */
+public final class Perft {
+
+    private Perft() {
+        throw new RuntimeException("The Perft class cannot be instantiated.");
+    }
+
+    /**
+     * @return The number of positions reachable from the board in exactly depth legal moves.
+     */
+    public static long perft(final Board board, final int depth) {
+        return count(new MutableBoard(board), new MoveBuffer(Math.max(depth, 1)), depth, 0, true, null);
+    }
+
+    /**
+     * The same as perft(), except that pawns only promote to a queen.
+     */
+    public static long perftQueenPromotions(final Board board, final int depth) {
+        return count(new MutableBoard(board), new MoveBuffer(Math.max(depth, 1)), depth, 0, false, null);
+    }
+
+    /**
+     * Like perft(), but also classifies the moves of the last ply. Every one of them is made, to see whether it gives
+     * check, so this is slower than perft().
+     */
+    public static Statistics perftStatistics(final Board board, final int depth) {
+        final long[] counters = new long[Statistics.COUNTERS];
+        final long nodes = count(new MutableBoard(board), new MoveBuffer(Math.max(depth, 1)), depth, 0, true, counters);
+        return new Statistics(nodes, counters);
+    }
+
+    /**
+     * @param depth At least 1.
+     * @return The perft() count below each legal move of the board, by the move in coordinate notation. Comparing these
+     * with another engine's narrows a difference in the totals down to a move.
+     */
+    public static Map<String, Long> divide(final Board board, final int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Cannot divide a perft of depth " + depth);
+        }
+
+        final MutableBoard mutableBoard = new MutableBoard(board);
+        final MoveBuffer moveBuffer = new MoveBuffer(depth);
+        final Map<String, Long> counts = new TreeMap<>();
+
+        MoveGenerator.generateLegalMoves(mutableBoard, moveBuffer, 0);
+        for (int i = 0; i < moveBuffer.size(0); i++) {
+            final int move = moveBuffer.get(0, i);
+            mutableBoard.makeMove(move);
+            counts.put(PackedMove.toString(move), count(mutableBoard, moveBuffer, depth - 1, 1, true, null));
+            mutableBoard.unmakeMove();
+        }
+
+        return counts;
+    }
+
+    /**
+     * Counts like perft() with the players' moves: each legal move is made with Player.makeMove() into a new board.
+     * Promotions are only to a queen, so the count equals perftQueenPromotions().
+     */
+    public static long perftMoves(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        long nodes = 0;
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += depth == 1 ? 1 : perftMoves(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Moves on the last ply are counted without being made, unless their statistics are wanted.
+     */
+    private static long count(final MutableBoard board, final MoveBuffer moveBuffer, final int depth, final int ply,
+                              final boolean isUnderPromotionIncluded, final long[] counters) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        MoveGenerator.generatePseudoLegalMoves(board, moveBuffer, ply);
+        final long restrictedPieces = MoveGenerator.calculateRestrictedPieces(board);
+        long nodes = 0;
+
+        for (int i = 0; i < moveBuffer.size(ply); i++) {
+            final int move = moveBuffer.get(ply, i);
+            if ((!isUnderPromotionIncluded && PackedMove.isPromotion(move) &&
+                 PackedMove.getPromotionType(move) != Piece.PieceType.QUEEN) ||
+                !MoveGenerator.isLegal(board, move, restrictedPieces)) {
+                continue;
+            }
+
+            if (depth == 1) {
+                nodes++;
+                if (counters != null) {
+                    classify(board, move, counters);
+                }
+            } else {
+                board.makeMove(move);
+                nodes += count(board, moveBuffer, depth - 1, ply + 1, isUnderPromotionIncluded, counters);
+                board.unmakeMove();
+            }
+        }
+
+        return nodes;
+    }
+
+    private static void classify(final MutableBoard board, final int move, final long[] counters) {
+        if (PackedMove.isCapture(move)) {
+            counters[Statistics.CAPTURES]++;
+        }
+        if (PackedMove.isEnPassantCapture(move)) {
+            counters[Statistics.EN_PASSANT_CAPTURES]++;
+        }
+        if (PackedMove.isCastle(move)) {
+            counters[Statistics.CASTLES]++;
+        }
+        if (PackedMove.isPromotion(move)) {
+            counters[Statistics.PROMOTIONS]++;
+        }
+
+        board.makeMove(move);
+        if (board.isInCheck()) {
+            counters[Statistics.CHECKS]++;
+        }
+        board.unmakeMove();
+    }
+
+    /**
+     * The leaf count of a perft with the kinds of moves made on the last ply, counted the way published perft tables
+     * count them: en passant captures are also captures, and capturing promotions are both.
+     */
+    public static final class Statistics {
+
+        private static final int CAPTURES = 0;
+        private static final int EN_PASSANT_CAPTURES = 1;
+        private static final int CASTLES = 2;
+        private static final int PROMOTIONS = 3;
+        private static final int CHECKS = 4;
+        private static final int COUNTERS = 5;
+
+        private final long nodes;
+        private final long[] counters;
+
+        private Statistics(final long nodes, final long[] counters) {
+            this.nodes = nodes;
+            this.counters = counters.clone();
+        }
+
+        public long getNodes() {
+            return this.nodes;
+        }
+
+        public long getCaptures() {
+            return this.counters[CAPTURES];
+        }
+
+        public long getEnPassantCaptures() {
+            return this.counters[EN_PASSANT_CAPTURES];
+        }
+
+        public long getCastles() {
+            return this.counters[CASTLES];
+        }
+
+        public long getPromotions() {
+            return this.counters[PROMOTIONS];
+        }
+
+        public long getChecks() {
+            return this.counters[CHECKS];
+        }
+
+        @Override
+        public String toString() {
+            return "nodes " + this.nodes + ", captures " + getCaptures() + ", en passant " + getEnPassantCaptures() +
+                   ", castles " + getCastles() + ", promotions " + getPromotions() + ", checks " + getChecks();
+        }
+    }
+}
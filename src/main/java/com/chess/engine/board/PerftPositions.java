@@ -0,0 +1,118 @@
+package com.chess.engine.board;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * The positions and counts of the perft results page of the Chess Programming Wiki, shared by PerftTest, which checks
+ * the shallow depths as part of the build, and PerftBenchmark, which runs them all.
+ */
+public final class PerftPositions {
+
+    private static final int STATISTICS_COLUMNS = 6;
+
+    /**
+     * Each row of counts holds one depth, starting at 1: the nodes, and where published, the captures, en passant
+     * captures, castles, promotions and checks of the last ply.
+     */
+    public static final List<Position> PUBLISHED = ImmutableList.of(
+            new Position("initial position", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", new long[][] {
+                    {20, 0, 0, 0, 0, 0},
+                    {400, 0, 0, 0, 0, 0},
+                    {8_902, 34, 0, 0, 0, 12},
+                    {197_281, 1_576, 0, 0, 0, 469},
+                    {4_865_609, 82_719, 258, 0, 0, 27_351}}),
+            new Position("kiwipete",
+                    "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", new long[][] {
+                    {48, 8, 0, 2, 0, 0},
+                    {2_039, 351, 1, 91, 0, 3},
+                    {97_862, 17_102, 45, 3_162, 0, 993},
+                    {4_085_603, 757_163, 1_929, 128_013, 15_172, 25_523}}),
+            new Position("position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", new long[][] {
+                    {14, 1, 0, 0, 0, 2},
+                    {191, 14, 0, 0, 0, 10},
+                    {2_812, 209, 2, 0, 0, 267},
+                    {43_238, 3_348, 123, 0, 0, 1_680},
+                    {674_624, 52_051, 1_165, 0, 0, 52_950}}),
+            new Position("position 4",
+                    "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", new long[][] {
+                    {6, 0, 0, 0, 0, 0},
+                    {264, 87, 0, 6, 48, 10},
+                    {9_467, 1_021, 4, 0, 120, 38},
+                    {422_333, 131_393, 0, 7_795, 60_032, 15_492}}),
+            new Position("position 5",
+                    "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", new long[][] {
+                    {44}, {1_486}, {62_379}, {2_103_487}}),
+            new Position("position 6",
+                    "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", new long[][] {
+                    {46}, {2_079}, {89_890}, {3_894_594}}));
+
+    private PerftPositions() {
+        throw new RuntimeException("The PerftPositions class cannot be instantiated.");
+    }
+
+    public static final class Position {
+
+        private final String name;
+        private final String fen;
+        private final long[][] counts;
+
+        private Position(final String name, final String fen, final long[][] counts) {
+            this.name = name;
+            this.fen = fen;
+            this.counts = counts;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public String getFen() {
+            return this.fen;
+        }
+
+        /**
+         * @return The deepest depth with a published count.
+         */
+        public int getMaxDepth() {
+            return this.counts.length;
+        }
+
+        public long getNodes(final int depth) {
+            return this.counts[depth - 1][0];
+        }
+
+        public boolean hasStatistics(final int depth) {
+            return this.counts[depth - 1].length == STATISTICS_COLUMNS;
+        }
+
+        /**
+         * @return The nodes, captures, en passant captures, castles, promotions and checks published for the depth,
+         * in that order.
+         */
+        public long[] getStatistics(final int depth) {
+            if (!hasStatistics(depth)) {
+                throw new IllegalArgumentException("No statistics are published for " + this.name + " at depth " +
+                                                   depth);
+            }
+            return this.counts[depth - 1].clone();
+        }
+
+        /**
+         * @return The deepest depth whose node count is at most maxNodes.
+         */
+        public int getDepthWithin(final long maxNodes) {
+            int depth = 1;
+            while (depth < getMaxDepth() && getNodes(depth + 1) <= maxNodes) {
+                depth++;
+            }
+            return depth;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
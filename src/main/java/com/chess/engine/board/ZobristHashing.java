@@ -0,0 +1,106 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Random;
+
+/**
+ * Zobrist hashing of board positions.
+ *
+ * Every feature of a position (a piece on a square, the player to move, the castling rights and the en passant pawn) is
+ * assigned a random 64 bit number, and the key of a position is the XOR of the numbers of all of its features. XOR is
+ * its own inverse, so a move updates the key by XOR-ing out the features it removes and XOR-ing in the ones it adds,
+ * rather than hashing all 64 tiles again.
+ */
+public final class ZobristHashing {
+
+    // A fixed seed keeps keys identical between runs, so that they can be logged and compared.
+    private static final long SEED = 0x2F58F98L;
+
+    private static final long[][] PIECE_KEYS = new long[Alliance.values().length * Piece.PieceType.values().length][64];
+    private static final long[] CASTLING_KEYS = new long[BoardUtils.ALL_CASTLING_RIGHTS + 1];
+    private static final long[] EN_PASSANT_KEYS = new long[8];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+
+        for (final long[] squareKeys : PIECE_KEYS) {
+            for (int i = 0; i < squareKeys.length; i++) {
+                squareKeys[i] = random.nextLong();
+            }
+        }
+
+        // No castling rights hashes to zero, so that positions without castling need no special case.
+        for (int i = 1; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private ZobristHashing() {
+        throw new RuntimeException("The ZobristHashing class cannot be instantiated.");
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return pieceKey(piece.getPieceType(), piece.getAlliance(), piece.getPiecePosition());
+    }
+
+    public static long pieceKey(final Piece.PieceType pieceType, final Alliance alliance, final int position) {
+        return PIECE_KEYS[alliance.ordinal() * Piece.PieceType.values().length + pieceType.ordinal()][position];
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * @param enPassantPawn The pawn that can be captured en passant, or null.
+     * @return The key of the file of the en passant pawn, or 0 if there is none.
+     */
+    public static long enPassantKey(final Pawn enPassantPawn) {
+        return enPassantPawn == null ? 0L : EN_PASSANT_KEYS[enPassantPawn.getPiecePosition() % 8];
+    }
+
+    /**
+     * @param enPassantSquare The square behind a pawn that has just made a double push, or BitBoard.NO_SQUARE.
+     * @return The key of the file of the square, which is that of the pawn, or 0 if there is none.
+     */
+    public static long enPassantKey(final int enPassantSquare) {
+        return enPassantSquare == BitBoard.NO_SQUARE ? 0L : EN_PASSANT_KEYS[enPassantSquare % 8];
+    }
+
+    public static long sideToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    /**
+     * Hashes a board from scratch. Moves should update the key of the previous board instead.
+     *
+     * @param board The board to hash.
+     * @return The zobrist key of the board.
+     */
+    public static long calculateKey(final Board board) {
+        long key = 0L;
+
+        for (final Piece piece : board.getAllActivePieces()) {
+            key ^= pieceKey(piece);
+        }
+
+        key ^= castlingKey(board.getCastlingRights());
+        key ^= enPassantKey(board.getEnPassantPawn());
+
+        if (board.getCurrentPlayer().getAlliance().isBlack()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+
+        return key;
+    }
+}
@@ -1,7 +1,9 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.MagicBitboards;
 import com.chess.engine.board.Move;
 import com.google.common.collect.ImmutableList;
 
@@ -9,10 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import static com.chess.engine.board.BoardUtils.*;
-
 public class Bishop extends Piece {
-    private final static int[] bishopModifiers = {-9, -7, 7, 9};
 
     public Bishop(int piecePosition, final Alliance pieceAlliance) {
         super(piecePosition, pieceAlliance, PieceType.BISHOP, true);
@@ -28,52 +27,38 @@ public class Bishop extends Piece {
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
 
+        addLegalMoves(board, legalMoves, MagicBitboards.bishopAttacks(this.piecePosition, bitBoard.getOccupancy()) &
+                                         ~bitBoard.getOccupancy(this.pieceAlliance));
 
-        for (int modifier: bishopModifiers) {
-            int candidatePosition = this.piecePosition;
-            while(isValidTilePosition(candidatePosition)) {
-                if (isFirstRankException(candidatePosition, modifier) ||
-                        isEighthRankException(candidatePosition, modifier)) {
-                    break;
-                }
-
-                candidatePosition += modifier;
+        return ImmutableList.copyOf(legalMoves);
+    }
 
-                if (isValidTilePosition(candidatePosition)) {
+    /**
+     * The attack set already stops at the first occupied square along each line, so masking it with the enemy pieces
+     * leaves exactly the captures, without creating moves to the empty squares before them.
+     */
+    @Override
+    public Collection<Move> calculateCaptureMoves(final Board board) {
+        final List<Move> captureMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+        final long occupancy = bitBoard.getOccupancy();
 
-                    addLegalMove(board, legalMoves, candidatePosition);
-                    if (board.getTile(candidatePosition).isOccupied()) {
-                        break;
-                    }
-                }
-            }
-        }
+        addCaptureMoves(board, captureMoves, MagicBitboards.bishopAttacks(this.piecePosition, occupancy) & occupancy &
+                                             ~bitBoard.getOccupancy(this.pieceAlliance));
 
-        return ImmutableList.copyOf(legalMoves);
+        return ImmutableList.copyOf(captureMoves);
     }
 
     @Override
     public Bishop movePiece(final Move move) {
-        return new Bishop(move.getDestinationPosition(), move.getMovedPiece().getAlliance());
+        return (Bishop) PieceCache.getPiece(PieceType.BISHOP, this.pieceAlliance, move.getDestinationPosition(),
+                                            false);
     }
 
     @Override
     public String toString() {
         return PieceType.BISHOP.toString();
     }
-
-
-
-
-
-    private static boolean isFirstRankException(int position, int modifier) {
-        return (position % 8 == 0) && (modifier == -9 || modifier == 7);
-    }
-
-    private static boolean isEighthRankException(int position, int modifier) {
-        return (position % 8 == 7) && (modifier == 9 || modifier == -7);
-    }
-
 }
-
@@ -1,8 +1,9 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
 import com.google.common.collect.ImmutableList;
 
@@ -12,7 +13,6 @@ import java.util.List;
 
 public class King extends Piece {
     private boolean isCastled;
-    private final static int[] kingModifiers = {-9, -8, -7, -1, 1, 7, 8, 9};
 
     public King(final int piecePosition, final Alliance pieceAlliance) {
         super(piecePosition, pieceAlliance, PieceType.KING, true);
@@ -26,31 +26,38 @@ public class King extends Piece {
         this.isCastled = isCastled;
     }
 
+    /**
+     * The single steps of the king. Castling moves are added by the players, which know whether the squares the king
+     * crosses are attacked.
+     */
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
 
-        for (final int modifier : kingModifiers) {
-            final int candidatePosition = this.piecePosition + modifier;
-
-            if (isFirstRankException(candidatePosition, modifier) || isEighthRankException(candidatePosition, modifier)) {
-                continue;
-            }
-
+        addLegalMoves(board, legalMoves, AttackTables.kingAttacks(this.piecePosition) &
+                                         ~board.getBitBoard().getOccupancy(this.pieceAlliance));
 
+        return ImmutableList.copyOf(legalMoves);
+    }
 
-            if (BoardUtils.isValidTilePosition(candidatePosition)) {
-                addLegalMove(board, legalMoves, candidatePosition);
-            }
-        }
+    /**
+     * Castling never captures, so only the king's single steps are considered.
+     */
+    @Override
+    public Collection<Move> calculateCaptureMoves(final Board board) {
+        final List<Move> captureMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
 
+        addCaptureMoves(board, captureMoves, AttackTables.kingAttacks(this.piecePosition) & bitBoard.getOccupancy() &
+                                             ~bitBoard.getOccupancy(this.pieceAlliance));
 
-        return ImmutableList.copyOf(legalMoves);
+        return ImmutableList.copyOf(captureMoves);
     }
 
     @Override
     public King movePiece(final Move move) {
-        return new King(move.getDestinationPosition(), move.getMovedPiece().getAlliance() );
+        return PieceCache.getKing(this.pieceAlliance, move.getDestinationPosition(), false,
+                                  this.isCastled || move.isCastlingMove());
     }
 
 
@@ -59,14 +66,6 @@ public class King extends Piece {
         return PieceType.KING.toString();
     }
 
-    private static boolean isFirstRankException(int position, int modifier) {
-        return (position % 8 == 0) && (modifier == -9 || modifier == -1 || modifier == 7);
-    }
-
-    private static boolean isEighthRankException(int position, int modifier) {
-        return (position % 8 == 7) && (modifier == -7 || modifier == 1 || modifier == 9);
-    }
-
     public boolean isCastled() {
         return this.isCastled;
     }
@@ -1,8 +1,9 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
-import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
 import com.google.common.collect.ImmutableList;
 
@@ -10,11 +11,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import static com.chess.engine.board.BoardUtils.*;
 import static com.chess.engine.board.Move.*;
 
 public class Pawn extends Piece {
-    private final static int[] pawnModifiers = {7, 8, 9, 16};
 
     public Pawn(final int piecePosition,
                 final Alliance pieceAlliance) {
@@ -27,63 +26,73 @@ public class Pawn extends Piece {
         super(piecePosition, pieceAlliance, PieceType.PAWN, isFirstMove);
     }
 
-    private static int calculateEnPassantDirection(int modifier) {
-        return modifier == 7 ? 1 : -1;
-    }
-
+    /**
+     * A pawn pushes one square forwards onto an empty square, or two from its starting rank when both squares are
+     * empty, and captures diagonally forwards, including en passant onto the square the opposing pawn passed over.
+     */
     @Override
     public Collection<Move> calculateLegalMoves(Board board) {
         final List<Move> legalMoves = new ArrayList<>();
+        final long occupancy = board.getBitBoard().getOccupancy();
+
+        final long push = AttackTables.pawnPushes(this.pieceAlliance, this.piecePosition) & ~occupancy;
+        if (push != 0) {
+            final int pushPosition = Long.numberOfTrailingZeros(push);
+            final PawnMove move = new PawnMove(board, this, pushPosition);
+            legalMoves.add(this.pieceAlliance.isPawnPromotionSquare(pushPosition) ? new PawnPromotionMove(move) : move);
+
+            // Only a pawn that has never moved stands on its starting rank.
+            final long doublePush = AttackTables.pawnDoublePushes(this.pieceAlliance, this.piecePosition) & ~occupancy;
+            if (doublePush != 0) {
+                legalMoves.add(new PawnJump(board, this, Long.numberOfTrailingZeros(doublePush)));
+            }
+        }
 
-        for (final int modifier : pawnModifiers) {
-            int candidatePosition = this.piecePosition + (modifier * this.pieceAlliance.getDirection());
+        addPawnCaptureMoves(board, legalMoves);
+        return ImmutableList.copyOf(legalMoves);
+    }
 
-            if (!BoardUtils.isValidTilePosition(candidatePosition)) {
-                continue; // skip move
-            }
+    /**
+     * The diagonal captures, including en passant, and the pushes onto the promotion rank.
+     */
+    @Override
+    public Collection<Move> calculateCaptureMoves(final Board board) {
+        final List<Move> captureMoves = new ArrayList<>();
 
-            if (modifier == 8 && !board.getTile(candidatePosition).isOccupied()) {
-                final PawnMove move = new PawnMove(board, this, candidatePosition);
-                if (this.pieceAlliance.isPawnPromotionSquare(candidatePosition)) {
-                    legalMoves.add(new PawnPromotionMove(move));
-                } else {
-                    legalMoves.add(move);
-                }
-            } else if (modifier == 16 && this.isFirstMove() && ((isOnSeventhRank(this.piecePosition) && this.pieceAlliance.isBlack()) || (isOnSecondRank(this.piecePosition) && this.pieceAlliance.isWhite()))) {//TODO change Pawn class to store first move
-                final int behindCandidatePosition = this.piecePosition + (8 * this.pieceAlliance.getDirection());
-
-                if (!board.getTile(behindCandidatePosition).isOccupied() && !board.getTile(candidatePosition).isOccupied()) {
-                    legalMoves.add(new PawnJump(board, this, candidatePosition));
-                }
-
-            } else if (isValidCaptureDiagonal(modifier, isOnFirstFile(this.piecePosition), isOnLastFile(this.piecePosition))) {
-                final int enPassantDirection = calculateEnPassantDirection(modifier);
-                if (board.getTile(candidatePosition).isOccupied()) {
-                    final Piece pieceOnTile = board.getTile(candidatePosition).getPiece();
-                    if (pieceOnTile.getAlliance() != this.pieceAlliance) {
-                        final PawnCaptureMove move = new PawnCaptureMove(board, this, candidatePosition, pieceOnTile);
-                        if (this.pieceAlliance.isPawnPromotionSquare(candidatePosition)) {
-                            legalMoves.add(new PawnPromotionMove(move));
-                        } else {
-                            legalMoves.add(move);
-                        }
-                    }
-                } else if (board.getEnPassantPawn() != null) {
-                    if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (enPassantDirection * this.pieceAlliance.getOppositeDirection()))) {
-                        final Piece enPassantPawn = board.getEnPassantPawn();
-                        if (this.pieceAlliance != enPassantPawn.getAlliance()) {
-                            legalMoves.add(new PawnEnPassantCaptureMove(board, this, candidatePosition, enPassantPawn));
-                        }
-                    }
-                }
-            }
+        final long push = AttackTables.pawnPushes(this.pieceAlliance, this.piecePosition) &
+                          ~board.getBitBoard().getOccupancy();
+        if (push != 0 && this.pieceAlliance.isPawnPromotionSquare(Long.numberOfTrailingZeros(push))) {
+            captureMoves.add(new PawnPromotionMove(new PawnMove(board, this, Long.numberOfTrailingZeros(push))));
+        }
+
+        addPawnCaptureMoves(board, captureMoves);
+        return ImmutableList.copyOf(captureMoves);
+    }
+
+    private void addPawnCaptureMoves(final Board board, final List<Move> moves) {
+        final BitBoard bitBoard = board.getBitBoard();
+        final long attacks = AttackTables.pawnAttacks(this.pieceAlliance, this.piecePosition);
+
+        long captures = attacks & bitBoard.getOccupancy() & ~bitBoard.getOccupancy(this.pieceAlliance);
+        while (captures != 0) {
+            final int candidatePosition = Long.numberOfTrailingZeros(captures);
+            final PawnCaptureMove move = new PawnCaptureMove(board, this, candidatePosition,
+                                                             board.getTile(candidatePosition).getPiece());
+            moves.add(this.pieceAlliance.isPawnPromotionSquare(candidatePosition) ? new PawnPromotionMove(move) : move);
+            captures &= captures - 1;
+        }
+
+        final int enPassantSquare = bitBoard.getEnPassantSquare();
+        if (enPassantSquare != BitBoard.NO_SQUARE && (attacks & BitBoard.squareBit(enPassantSquare)) != 0 &&
+            board.getEnPassantPawn().getAlliance() != this.pieceAlliance) {
+            moves.add(new PawnEnPassantCaptureMove(board, this, enPassantSquare, board.getEnPassantPawn()));
         }
-        return ImmutableList.copyOf(legalMoves);
     }
 
     @Override
     public Pawn movePiece(final Move move) {
-        return new Pawn(move.getDestinationPosition(), move.getMovedPiece().getAlliance());
+        return (Pawn) PieceCache.getPiece(PieceType.PAWN, this.pieceAlliance, move.getDestinationPosition(),
+                                          false);
     }
 
     @Override
@@ -92,16 +101,6 @@ public class Pawn extends Piece {
     }
 
     public Piece getPromotionPiece() {
-        return new Queen(this.piecePosition, this.pieceAlliance, false);
+        return PieceCache.getPiece(PieceType.QUEEN, this.pieceAlliance, this.piecePosition, false);
     }
-
-    private boolean isValidCaptureDiagonal(int modifier, boolean onFirstFile, boolean onLastFile) {
-        if (modifier == 7) {
-            return !((this.pieceAlliance.isBlack() && onFirstFile) || (this.pieceAlliance.isWhite() && onLastFile));
-        } else { // modifier == 9
-            return !((this.pieceAlliance.isBlack() && onLastFile) || (this.pieceAlliance.isWhite() && onFirstFile));
-        }
-    }
-
-
 }
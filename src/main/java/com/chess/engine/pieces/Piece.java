@@ -82,6 +82,16 @@ public abstract class Piece {
      */
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    /**
+     * Generates only the moves that capture a piece or promote a pawn, without the quiet moves of
+     * calculateLegalMoves(). Used by the quiescence search, which only follows these moves and would otherwise build and
+     * throw away a full move list for every leaf position.
+     *
+     * @param board The game board.
+     * @return The capture and promotion moves of the piece. Like calculateLegalMoves(), these may leave the king in check.
+     */
+    public abstract Collection<Move> calculateCaptureMoves(final Board board);
+
     public abstract Piece movePiece(Move move);
 
     void addLegalMove(Board board, List<Move> legalMoves, int position) {
@@ -100,6 +110,34 @@ public abstract class Piece {
     }
 
 
+    void addCaptureMove(Board board, List<Move> captureMoves, int position) {
+        final Tile destinationTile = board.getTile(position);
+
+        if (destinationTile.isOccupied() && destinationTile.getPiece().getAlliance() != this.pieceAlliance) {
+            captureMoves.add(new MajorCaptureMove(board, this, position, destinationTile.getPiece()));
+        }
+    }
+
+    /**
+     * Calls addLegalMove() for every position in the bitboard, lowest position first.
+     */
+    void addLegalMoves(final Board board, final List<Move> legalMoves, final long destinations) {
+        long remaining = destinations;
+        while (remaining != 0) {
+            addLegalMove(board, legalMoves, Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+    }
+
+    void addCaptureMoves(final Board board, final List<Move> captureMoves, final long destinations) {
+        long remaining = destinations;
+        while (remaining != 0) {
+            addCaptureMove(board, captureMoves, Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+    }
+
+
     public enum PieceType {
 
         PAWN("P", 1),
@@ -0,0 +1,91 @@
+package com.chess.engine.pieces;
+
+import com.chess.engine.Alliance;
+
+/**
+ * Shared instances of every piece that can stand on a board: each type and alliance on each position, with and without
+ * its first move made, and the kings that have castled. Pieces are immutable and hold no reference to a board, so the
+ * boards created by moves can share them, in the same way every board shares the empty tiles of {@link
+ * com.chess.engine.board.Tile}.
+ */
+public final class PieceCache {
+
+    private static final int POSITIONS = 64;
+
+    private static final Piece[] PIECES = createAllPossiblePieces();
+    private static final King[] CASTLED_KINGS = createAllPossibleCastledKings();
+
+    private PieceCache() {
+        throw new RuntimeException("The PieceCache class cannot be instantiated.");
+    }
+
+    /**
+     * @return The shared piece with the given properties. A king returned by this method has not castled.
+     */
+    public static Piece getPiece(final Piece.PieceType pieceType, final Alliance alliance, final int position,
+                                 final boolean isFirstMove) {
+        return PIECES[index(pieceType, alliance, position, isFirstMove)];
+    }
+
+    /**
+     * @return The shared king with the given properties. A castled king has made its first move.
+     */
+    public static King getKing(final Alliance alliance, final int position, final boolean isFirstMove,
+                               final boolean isCastled) {
+        return isCastled ? CASTLED_KINGS[alliance.ordinal() * POSITIONS + position] :
+               (King) getPiece(Piece.PieceType.KING, alliance, position, isFirstMove);
+    }
+
+    private static int index(final Piece.PieceType pieceType, final Alliance alliance, final int position,
+                             final boolean isFirstMove) {
+        return ((pieceType.ordinal() * Alliance.values().length + alliance.ordinal()) * POSITIONS + position) * 2 +
+               (isFirstMove ? 1 : 0);
+    }
+
+    private static Piece[] createAllPossiblePieces() {
+        final Piece[] pieces = new Piece[Piece.PieceType.values().length * Alliance.values().length * POSITIONS * 2];
+
+        for (final Piece.PieceType pieceType : Piece.PieceType.values()) {
+            for (final Alliance alliance : Alliance.values()) {
+                for (int position = 0; position < POSITIONS; position++) {
+                    for (final boolean isFirstMove : new boolean[] {false, true}) {
+                        pieces[index(pieceType, alliance, position, isFirstMove)] =
+                                createPiece(pieceType, alliance, position, isFirstMove);
+                    }
+                }
+            }
+        }
+
+        return pieces;
+    }
+
+    private static King[] createAllPossibleCastledKings() {
+        final King[] kings = new King[Alliance.values().length * POSITIONS];
+
+        for (final Alliance alliance : Alliance.values()) {
+            for (int position = 0; position < POSITIONS; position++) {
+                kings[alliance.ordinal() * POSITIONS + position] = new King(position, alliance, false, true);
+            }
+        }
+
+        return kings;
+    }
+
+    private static Piece createPiece(final Piece.PieceType pieceType, final Alliance alliance, final int position,
+                                     final boolean isFirstMove) {
+        switch (pieceType) {
+            case PAWN:
+                return new Pawn(position, alliance, isFirstMove);
+            case KNIGHT:
+                return new Knight(position, alliance, isFirstMove);
+            case BISHOP:
+                return new Bishop(position, alliance, isFirstMove);
+            case ROOK:
+                return new Rook(position, alliance, isFirstMove);
+            case QUEEN:
+                return new Queen(position, alliance, isFirstMove);
+            default:
+                return new King(position, alliance, isFirstMove, false);
+        }
+    }
+}
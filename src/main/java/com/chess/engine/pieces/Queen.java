@@ -1,7 +1,9 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.MagicBitboards;
 import com.chess.engine.board.Move;
 import com.google.common.collect.ImmutableList;
 
@@ -9,11 +11,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import static com.chess.engine.board.BoardUtils.isValidTilePosition;
-
 public class Queen extends Piece {
 
-    private final static int[] queenModifiers = {-9, -8, -7, -1, 1, 7, 8, 9};
 
     public Queen(int piecePosition, final Alliance pieceAlliance) {
         super(piecePosition, pieceAlliance, PieceType.QUEEN, true);
@@ -28,48 +27,34 @@ public class Queen extends Piece {
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
 
+        addLegalMoves(board, legalMoves, MagicBitboards.queenAttacks(this.piecePosition, bitBoard.getOccupancy()) &
+                                         ~bitBoard.getOccupancy(this.pieceAlliance));
 
-        for (int modifier: queenModifiers) {
-            int candidatePosition = this.piecePosition;
-            while(isValidTilePosition(candidatePosition)) {
-                if (isFirstRankException(candidatePosition, modifier) ||
-                        isEighthRankException(candidatePosition, modifier)) {
-                    break;
-                }
-
-                candidatePosition += modifier;
+        return ImmutableList.copyOf(legalMoves);
+    }
 
-                if (isValidTilePosition(candidatePosition)) {
+    @Override
+    public Collection<Move> calculateCaptureMoves(final Board board) {
+        final List<Move> captureMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+        final long occupancy = bitBoard.getOccupancy();
 
-                    addLegalMove(board, legalMoves, candidatePosition);
-                    if (board.getTile(candidatePosition).isOccupied()) {
-                        break;
-                    }
-                }
-            }
-        }
+        addCaptureMoves(board, captureMoves, MagicBitboards.queenAttacks(this.piecePosition, occupancy) & occupancy &
+                                             ~bitBoard.getOccupancy(this.pieceAlliance));
 
-        return ImmutableList.copyOf(legalMoves);
+        return ImmutableList.copyOf(captureMoves);
     }
 
     @Override
     public Queen movePiece(final Move move) {
-        return new Queen(move.getDestinationPosition(), move.getMovedPiece().getAlliance() );
+        return (Queen) PieceCache.getPiece(PieceType.QUEEN, this.pieceAlliance, move.getDestinationPosition(),
+                                           false);
     }
 
     @Override
     public String toString() {
         return PieceType.QUEEN.toString();
     }
-
-
-
-    private static boolean isFirstRankException(int position, int modifier) {
-        return (position % 8 == 0) && (modifier == -9 || modifier == 7 || modifier == -1);
-    }
-
-    private static boolean isEighthRankException(int position, int modifier) {
-        return (position % 8 == 7) && (modifier == 9 || modifier == -7 || modifier == +1);
-    }
 }
@@ -1,7 +1,9 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.MagicBitboards;
 import com.chess.engine.board.Move;
 import com.google.common.collect.ImmutableList;
 
@@ -9,10 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-import static com.chess.engine.board.BoardUtils.isValidTilePosition;
-
 public class Rook extends Piece {
-    private final static int[] rookModifiers = {-8, -1, 1, 8};
 
     public Rook(final int piecePosition, final Alliance pieceAlliance) {
         super(piecePosition, pieceAlliance, PieceType.ROOK, true);
@@ -25,55 +24,36 @@ public class Rook extends Piece {
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
+    public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
-        final int column = this.piecePosition % 8;
-
-        for (int modifier : rookModifiers) {
-            int candidatePosition = this.piecePosition;
-
-            while (isValidTilePosition(candidatePosition)) {
-                if (isFirstRankException(candidatePosition, modifier) ||
-                        isEighthRankException(candidatePosition, modifier)) {
-                    break;
-                }
-
-                candidatePosition += modifier;
+        final BitBoard bitBoard = board.getBitBoard();
 
-                if (isValidTilePosition(candidatePosition)) {
-                    addLegalMove(board, legalMoves, candidatePosition);
-
-                    if (board.getTile(candidatePosition).isOccupied()) {
-                        break;
-                    }
-                }
-
-
-            }
-        }
+        addLegalMoves(board, legalMoves, MagicBitboards.rookAttacks(this.piecePosition, bitBoard.getOccupancy()) &
+                                         ~bitBoard.getOccupancy(this.pieceAlliance));
 
+        return ImmutableList.copyOf(legalMoves);
+    }
 
+    @Override
+    public Collection<Move> calculateCaptureMoves(final Board board) {
+        final List<Move> captureMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+        final long occupancy = bitBoard.getOccupancy();
 
+        addCaptureMoves(board, captureMoves, MagicBitboards.rookAttacks(this.piecePosition, occupancy) & occupancy &
+                                             ~bitBoard.getOccupancy(this.pieceAlliance));
 
-        return ImmutableList.copyOf(legalMoves);
+        return ImmutableList.copyOf(captureMoves);
     }
 
     @Override
     public Rook movePiece(final Move move) {
-        return new Rook(move.getDestinationPosition(), move.getMovedPiece().getAlliance() );
+        return (Rook) PieceCache.getPiece(PieceType.ROOK, this.pieceAlliance, move.getDestinationPosition(),
+                                          false);
     }
 
     @Override
     public String toString() {
         return PieceType.ROOK.toString();
     }
-
-
-    private static boolean isFirstRankException(int position, int modifier) {
-        return (position % 8 == 0) && (modifier == -1);
-    }
-
-    private static boolean isEighthRankException(int position, int modifier) {
-        return (position % 8 == 7) && (modifier == 1);
-    }
 }
@@ -15,8 +15,8 @@ import java.util.List;
 import static com.chess.engine.board.Move.*;
 
 public class BlackPlayer extends Player{
-    public BlackPlayer(final Board board, final Collection<Move> whiteStandardLegalMoves, final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
 
     }
 
@@ -36,7 +36,7 @@ public class BlackPlayer extends Player{
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
         final List<Move> kingCastles = new ArrayList<>();
 
         if (this.playerKing.isFirstMove() && !this.isInCheck()) {
@@ -46,8 +46,8 @@ public class BlackPlayer extends Player{
                 final Tile rookTile = this.board.getTile(7);
 
                 if (rookTile.isOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(5, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(6, opponentLegals).isEmpty() &&
+                    if (!isAttackedByOpponent(5) &&
+                        !isAttackedByOpponent(6) &&
                         rookTile.getPiece().getPieceType().isRook()) {
 
                         final Rook rook = (Rook) rookTile.getPiece();
@@ -63,8 +63,8 @@ public class BlackPlayer extends Player{
                 final Tile rookTile = this.board.getTile(0);
 
                 if (rookTile.isOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(3, opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(2, opponentLegals).isEmpty() &&
+                    if (!isAttackedByOpponent(3) &&
+                        !isAttackedByOpponent(2) &&
                         rookTile.getPiece().getPieceType().isRook()) {
 
                         final Rook rook = (Rook) rookTile.getPiece();
@@ -0,0 +1,65 @@
+package com.chess.engine.player;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+
+import java.util.Collection;
+
+/**
+ * Finds a player's legal move from its current and destination positions without scanning the move list. The moves
+ * are kept in an open addressing hash table, keyed by the pair of positions and at most half full, so a lookup
+ * usually examines a single slot.
+ *
+ * A pair of positions identifies at most one legal move, since the board only generates promotions to a queen.
+ */
+final class MoveIndex {
+
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private final Move[] table;
+    private final int shift;
+
+    MoveIndex(final Collection<Move> legalMoves) {
+        int capacity = 2;
+        while (capacity < 2 * legalMoves.size()) {
+            capacity <<= 1;
+        }
+        this.table = new Move[capacity];
+        this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+
+        for (final Move move : legalMoves) {
+            int slot = slot(key(move.getCurrentPosition(), move.getDestinationPosition()));
+            while (this.table[slot] != null) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            this.table[slot] = move;
+        }
+    }
+
+    /**
+     * @return The move between the positions, or null if there is none.
+     */
+    Move get(final int currentPosition, final int destinationPosition) {
+        if (!BoardUtils.isValidTilePosition(currentPosition) || !BoardUtils.isValidTilePosition(destinationPosition)) {
+            return null;
+        }
+
+        final int key = key(currentPosition, destinationPosition);
+        for (int slot = slot(key); this.table[slot] != null; slot = (slot + 1) & (this.table.length - 1)) {
+            final Move move = this.table[slot];
+            if (key(move.getCurrentPosition(), move.getDestinationPosition()) == key) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    private static int key(final int currentPosition, final int destinationPosition) {
+        return currentPosition << 6 | destinationPosition;
+    }
+
+    // Multiplicative hashing: the top bits of the product index the table.
+    private int slot(final int key) {
+        return (key * HASH_MULTIPLIER) >>> this.shift;
+    }
+}
@@ -1,8 +1,10 @@
 package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
@@ -16,25 +18,40 @@ public abstract class Player {
 
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
 
-    Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentLegalMoves) {
+    // Calculated on first use, since a board built during a search usually needs the moves of one player at most.
+    // Both are immutable once set, so a thread that calculates them again only repeats work.
+    private volatile Collection<Move> legalMoves;
+    private volatile Boolean isInCheck;
+    private volatile Boolean hasEscapeMoves;
+    private volatile MoveIndex moveIndex;
+    // 0 until calculated, since the king is always among the restricted pieces.
+    private volatile long restrictedPieces;
+
+    Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentLegalMoves)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegalMoves).isEmpty();
     }
 
-    protected static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> opponentLegalMoves) {
-        final List<Move> attackMoves = new ArrayList<>();
+    /**
+     * @return true if a piece of the opponent attacks the position, asked of the board rather than of the opponent,
+     * which may not have been created yet.
+     */
+    protected boolean isAttackedByOpponent(final int position) {
+        return this.board.isSquareAttacked(position, getOpponentAlliance());
+    }
 
-        for (final Move move: opponentLegalMoves) {
-            if (piecePosition == move.getDestinationPosition()) {
-                attackMoves.add(move);
-            }
+    private Alliance getOpponentAlliance() {
+        return getAlliance().isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    private Collection<Move> calculateLegalMoves() {
+        final List<Move> standardLegalMoves = new ArrayList<>();
+
+        for (final Piece piece : getActivePieces()) {
+            standardLegalMoves.addAll(piece.calculateLegalMoves(this.board));
         }
-        return ImmutableList.copyOf(attackMoves);
+        return ImmutableList.copyOf(Iterables.concat(standardLegalMoves, calculateKingCastles(standardLegalMoves)));
     }
 
     protected  King establishKing() {
@@ -47,31 +64,74 @@ public abstract class Player {
         throw new RuntimeException("Invalid Board! Player king not on board.");
     }
 
+    /**
+     * Looks the move up by its positions and compares it with the one legal move found there, if any, rather than
+     * comparing it with every legal move.
+     *
+     * Until the player's moves have been calculated for some other reason, only the moves of the moved piece are
+     * generated to compare with, so that a search which stops after its first few moves never generates the rest.
+     */
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        if (move.getMovedPiece() == null) {
+            return false; // the null move
+        }
+        if (this.legalMoves == null && !move.isCastlingMove()) {
+            final Piece piece = this.board.getTile(move.getCurrentPosition()).getPiece();
+            return piece != null && piece.getAlliance() == getAlliance() &&
+                   piece.calculateLegalMoves(this.board).contains(move);
+        }
+        final Move legalMove = getLegalMove(move.getCurrentPosition(), move.getDestinationPosition());
+        return legalMove != null && legalMove.equals(move);
+    }
+
+    /**
+     * @return The legal move of the player from the current position to the destination position, or null if there is
+     * none.
+     */
+    public Move getLegalMove(final int currentPosition, final int destinationPosition) {
+        MoveIndex moveIndex = this.moveIndex;
+        if (moveIndex == null) {
+            moveIndex = new MoveIndex(getLegalMoves());
+            this.moveIndex = moveIndex;
+        }
+        return moveIndex.get(currentPosition, destinationPosition);
     }
 
     public boolean isInCheck() {
-        return this.isInCheck; //TODO
+        Boolean isInCheck = this.isInCheck;
+        if (isInCheck == null) {
+            isInCheck = isAttackedByOpponent(this.playerKing.getPiecePosition());
+            this.isInCheck = isInCheck;
+        }
+        return isInCheck;
     }
 
     public boolean isInCheckMate() {
-        return this.isInCheck && !hasEscapeMoves(); //TODO
+        return isInCheck() && !hasEscapeMoves(); //TODO
     }
 
+    /**
+     * Checkmate and stalemate both come down to this, so it is calculated once for each board and then remembered.
+     */
     protected boolean hasEscapeMoves() {
-        for (final Move move : this.legalMoves) {
-            final MoveTransition transition = makeMove(move);
-
-            if(transition.getMoveStatus().isDone()) {
-                return true;
-            }
+        Boolean hasEscapeMoves = this.hasEscapeMoves;
+        if (hasEscapeMoves == null) {
+            hasEscapeMoves = calculateHasEscapeMoves();
+            this.hasEscapeMoves = hasEscapeMoves;
         }
-        return false;
+        return hasEscapeMoves;
+    }
+
+    /**
+     * Found on the bitboards of the board by the move generator, which checks one destination at a time until it finds
+     * a legal one, without creating moves or boards. The search asks this of every node it visits.
+     */
+    private boolean calculateHasEscapeMoves() {
+        return MoveGenerator.hasLegalMove(this.board.getBitBoard(), getAlliance());
     }
 
     public boolean isInStalemate() {
-        return !this.isInCheck && !hasEscapeMoves(); //TODO
+        return !isInCheck() && !hasEscapeMoves(); //TODO
     }
 
     public boolean isCastled() {
@@ -83,25 +143,58 @@ public abstract class Player {
     }
 
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> legalMoves = this.legalMoves;
+        if (legalMoves == null) {
+            legalMoves = calculateLegalMoves();
+            this.legalMoves = legalMoves;
+        }
+        return legalMoves;
+    }
+
+    /**
+     * @return The capture and promotion moves of the player's pieces, for the quiescence search. Some of them may leave
+     * the king in check, which makeMove() reports.
+     */
+    public Collection<Move> calculateCaptureMoves() {
+        final List<Move> captureMoves = new ArrayList<>();
+
+        for (final Piece piece : getActivePieces()) {
+            captureMoves.addAll(piece.calculateCaptureMoves(this.board));
+        }
+        return ImmutableList.copyOf(captureMoves);
     }
 
+    /**
+     * A move that would leave the king in check is recognised before it is executed, with the pin masks of the move
+     * generator, so that only moves which are played build a new board. Moves of pieces that are not pinned, while the
+     * king is not in check, need no further work.
+     */
     public MoveTransition makeMove(final Move move) {
 
         if (!isMoveLegal(move)) {
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
 
-        final Board transitionBoard = move.execute(); // current player changes after move execution
-
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.getCurrentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionBoard.getCurrentPlayer().getLegalMoves());
-
-        if (!kingAttacks.isEmpty()) {
+        if (!isKingSafeAfter(move)) {
             return new MoveTransition(this.board, move, MoveStatus.PLAYER_IN_CHECK);
         }
 
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE); //TODO
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE); //TODO
+    }
+
+    private boolean isKingSafeAfter(final Move move) {
+        final int capturedPosition = move.isAttack() ? move.getAttackedPiece().getPiecePosition() : BitBoard.NO_SQUARE;
+        return MoveGenerator.isLegal(this.board.getBitBoard(), getAlliance(), move.getCurrentPosition(),
+                                     move.getDestinationPosition(), capturedPosition, getRestrictedPieces());
+    }
+
+    private long getRestrictedPieces() {
+        long restrictedPieces = this.restrictedPieces;
+        if (restrictedPieces == 0) {
+            restrictedPieces = MoveGenerator.calculateRestrictedPieces(this.board.getBitBoard(), getAlliance());
+            this.restrictedPieces = restrictedPieces;
+        }
+        return restrictedPieces;
     }
 
     public abstract Collection<Piece> getActivePieces();
@@ -110,6 +203,6 @@ public abstract class Player {
 
     public abstract Player getOpponent();
 
-    public abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    public abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals);
 
 }
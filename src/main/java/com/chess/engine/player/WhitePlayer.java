@@ -15,9 +15,8 @@ import java.util.Collection;
 import java.util.List;
 
 public class WhitePlayer extends Player {
-    public WhitePlayer(final Board board, final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
 
     }
 
@@ -38,7 +37,7 @@ public class WhitePlayer extends Player {
     }
 
     @Override
-    public Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentLegals) {
+    public Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) {
         final List<Move> kingCastles = new ArrayList<>();
 
         if (this.playerKing.isFirstMove() && !this.isInCheck()) {
@@ -48,8 +47,8 @@ public class WhitePlayer extends Player {
                 final Tile rookTile = this.board.getTile(63);
 
                 if (rookTile.isOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(61, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(62, opponentLegals).isEmpty() &&
+                    if (!isAttackedByOpponent(61) &&
+                            !isAttackedByOpponent(62) &&
                             rookTile.getPiece().getPieceType().isRook()) {
                         final Rook rook = (Rook) rookTile.getPiece();
 
@@ -64,8 +63,8 @@ public class WhitePlayer extends Player {
                 final Tile rookTile = this.board.getTile(56);
 
                 if (rookTile.isOccupied() && rookTile.getPiece().isFirstMove()) {
-                    if (Player.calculateAttacksOnTile(59, opponentLegals).isEmpty() &&
-                            Player.calculateAttacksOnTile(58, opponentLegals).isEmpty() &&
+                    if (!isAttackedByOpponent(59) &&
+                            !isAttackedByOpponent(58) &&
                             rookTile.getPiece().getPieceType().isRook()) {
                         final Rook rook = (Rook) rookTile.getPiece();
                         kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 58, rook,
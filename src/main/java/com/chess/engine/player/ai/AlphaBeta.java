@@ -0,0 +1,676 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.MoveTransition;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fail-soft alpha-beta search written in negamax form.
+ *
+ * Every node scores the position from the point of view of the player to move, so a single recursive method replaces
+ * the separate max() and min() of {@link MiniMax}. Branches that cannot change the result are cut off, so far fewer
+ * positions are visited than by MiniMax at equal depth.
+ *
+ * Results are cached in a {@link TranspositionTable}, so that a position reached again through a different move order
+ * is not searched twice, and the best move stored for a position is searched first when it is revisited.
+ *
+ * Positions at the end of the main search are not evaluated straight away, but passed to a quiescence search that
+ * resolves pending captures and promotions first. Without it a leaf in the middle of an exchange is scored as if the
+ * last capture could not be answered.
+ *
+ * Moves after the first are searched with a null window, principal variation search, and each iteration of the root
+ * search starts with an aspiration window around the score of the previous one. The line of best play found is kept, see
+ * getPrincipalVariation().
+ *
+ * Outside the principal variation, positions whose static evaluation already reaches beta are first searched with a
+ * null move, passing the turn, to a reduced depth. If the opponent cannot exploit even a free move, the position is cut
+ * off without searching the real moves.
+ */
+public class AlphaBeta implements MoveStrategy {
+    // Integer.MIN_VALUE is avoided so that scores can always be negated safely.
+    private static final int INFINITY = Integer.MAX_VALUE;
+    // Beyond this many plies into the quiescence search a player in check may stand pat, see quiescence().
+    private static final int MAX_QUIESCENCE_EVASION_PLY = 2;
+    // The depth a null move is searched to is reduced by this, or by one more far from the leaves.
+    private static final int NULL_MOVE_REDUCTION = 2;
+    // The half width of the first aspiration window around the previous iteration's score. StandardBoardEvaluator
+    // counts a pawn and a legal move alike as 1, so this is a few pawns or a change in mobility, which covers most
+    // changes between iterations. The larger ones come from the check and castling bonuses, and are searched again.
+    private static final int ASPIRATION_WINDOW = 10;
+    private static final int MAX_PLY = SearchLimits.MAX_DEPTH + 1;
+    // Late moves are only reduced this far from the leaves, and after this many moves have been searched in full.
+    private static final int LATE_MOVE_REDUCTION_DEPTH = 3;
+    private static final int LATE_MOVE_REDUCTION_MOVES = 3;
+    private static final int MAX_MOVE_NUMBER = 64;
+    // Razoring is tried this close to the leaves.
+    private static final int RAZORING_DEPTH = 2;
+
+    /**
+     * The depth reduction of the n-th move searched at a given depth, growing with the logarithm of both: a late move
+     * far from the leaves is the least likely to matter, and the most expensive to search.
+     */
+    private static final int[][] LATE_MOVE_REDUCTIONS = calculateLateMoveReductions();
+
+    private final BoardEvaluator boardEvaluator;
+    private final int searchDepth;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrdering moveOrdering;
+    private final Set<SearchFeature> searchFeatures;
+    private long nodesSearched;
+    private int completedDepth;
+
+    // Triangular principal variation table: row p holds the best line found from ply p, of length pvLength[p] - p.
+    private final Move[][] pvTable;
+    private final int[] pvLength;
+    private Move rootBestMove;
+    private List<Move> principalVariation;
+
+    // Search limits. Only checked once every CHECK_INTERVAL nodes, since reading the clock is not free.
+    private static final int CHECK_INTERVAL = 256;
+    private long maxNodes;
+    private long deadline;
+    private boolean stopped;
+    private volatile boolean stopRequested; // set by another thread, see stop()
+
+    // 0 for a normal search. Lazy SMP helper threads get an index > 0, which varies their search order.
+    private final int helperIndex;
+
+    public AlphaBeta(final int searchDepth) {
+        this(searchDepth, new TranspositionTable());
+    }
+
+    /**
+     * @param searchDepth The depth to search to when no search limits are given.
+     * @param transpositionTable The table to cache results in, which may be shared with other searches.
+     */
+    public AlphaBeta(final int searchDepth, final TranspositionTable transpositionTable) {
+        this(searchDepth, transpositionTable, SearchFeature.all());
+    }
+
+    /**
+     * @param searchFeatures The selective search techniques to use.
+     */
+    public AlphaBeta(final int searchDepth, final TranspositionTable transpositionTable,
+                     final Set<SearchFeature> searchFeatures) {
+        this(searchDepth, transpositionTable, searchFeatures, 0);
+    }
+
+    AlphaBeta(final int searchDepth, final TranspositionTable transpositionTable,
+              final Set<SearchFeature> searchFeatures, final int helperIndex) {
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
+        this.moveOrdering = new MoveOrdering();
+        this.searchFeatures = searchFeatures.isEmpty() ? SearchFeature.none() : EnumSet.copyOf(searchFeatures);
+        this.pvTable = new Move[MAX_PLY + 1][MAX_PLY + 1];
+        this.pvLength = new int[MAX_PLY + 1];
+        this.principalVariation = ImmutableList.of();
+        this.helperIndex = helperIndex;
+    }
+
+    /**
+     * Searches the board to the depth given on construction.
+     *
+     * @return The move to be made, or null if the current player has no legal moves.
+     */
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, SearchLimits.depth(this.searchDepth));
+    }
+
+    /**
+     * Searches to depth 1, then 2, and so on until a limit is reached. Each iteration is cheap compared to the next one,
+     * and the transposition table lets it order the next iteration's moves, so little work is repeated.
+     *
+     * When a limit is reached part way through an iteration the partial results are discarded, and the best move of
+     * the last completed iteration is returned. The first iteration always completes, so a move is always found.
+     *
+     * @return The move to be made, or null if the current player has no legal moves.
+     */
+    @Override
+    public Move execute(final Board board, final SearchLimits searchLimits) {
+        return execute(board, searchLimits, true);
+    }
+
+    /**
+     * @param isNewSearch false if the transposition table has already been told about this search, as when several
+     *                    threads share it.
+     */
+    Move execute(final Board board, final SearchLimits searchLimits, final boolean isNewSearch) {
+        final long startTime = System.nanoTime();
+        final long timeBudget = searchLimits.getTimeBudgetMillis();
+
+        this.nodesSearched = 0;
+        this.completedDepth = 0;
+        this.stopped = false;
+        this.maxNodes = searchLimits.getMaxNodes();
+        this.deadline = timeBudget == Long.MAX_VALUE ? Long.MAX_VALUE : startTime + timeBudget * 1_000_000;
+        this.principalVariation = ImmutableList.of();
+        if (isNewSearch) {
+            this.transpositionTable.newSearch();
+        }
+        this.moveOrdering.newSearch();
+
+        Move bestMove = null;
+        int score = 0;
+
+        // Odd numbered helpers start one iteration deeper, so that threads spread over neighbouring depths.
+        final int startDepth = Math.min(1 + this.helperIndex % 2, searchLimits.getMaxDepth());
+
+        for (int depth = startDepth; depth <= searchLimits.getMaxDepth(); depth++) {
+            // The first iteration has no score to centre a window on.
+            int window = depth == startDepth ? INFINITY : ASPIRATION_WINDOW;
+            int alpha = lowerWindowBound(score, window);
+            int beta = upperWindowBound(score, window);
+
+            while (true) {
+                score = searchRoot(board, depth, alpha, beta);
+
+                if (this.stopped || this.rootBestMove == null) {
+                    break;
+                }
+
+                // The score is outside the window, so it is only a bound. Search again with the window widened on
+                // that side, doubling the widening each time.
+                if (score <= alpha && alpha != -INFINITY) {
+                    window *= 2;
+                    alpha = lowerWindowBound(score, window);
+                } else if (score >= beta && beta != INFINITY) {
+                    window *= 2;
+                    beta = upperWindowBound(score, window);
+                } else {
+                    break;
+                }
+            }
+
+            if (this.stopped || this.rootBestMove == null) {
+                break;
+            }
+
+            bestMove = this.rootBestMove;
+            this.principalVariation = ImmutableList.copyOf(Arrays.asList(this.pvTable[0]).subList(0, this.pvLength[0]));
+            this.completedDepth = depth;
+
+            // The next iteration takes several times as long as this one, so don't start it if it can't finish.
+            final long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+            if (searchLimits.isTimeLimited() && elapsedMillis > timeBudget / 2) {
+                break;
+            }
+        }
+
+        return bestMove;
+    }
+
+    private static int lowerWindowBound(final int score, final int window) {
+        return (int) Math.max(-INFINITY, (long) score - window);
+    }
+
+    private static int upperWindowBound(final int score, final int window) {
+        return (int) Math.min(INFINITY, (long) score + window);
+    }
+
+    /**
+     * Searches the root moves within the aspiration window, the first with the full window and the rest with a null
+     * window, as in alphaBeta(). A later move only replaces the best move if it scores strictly higher, so ties are
+     * resolved in search order.
+     *
+     * The best move is left in rootBestMove, which is null if the current player has no legal moves. It can only be
+     * trusted if the returned score lies inside the window.
+     *
+     * @return The score of the best move, or 0 if the search was stopped.
+     */
+    private int searchRoot(final Board board, final int depth, int alpha, final int beta) {
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        final int originalAlpha = alpha;
+
+        this.rootBestMove = null;
+        this.pvLength[0] = 0;
+        int bestValue = -INFINITY;
+        int movesSearched = 0;
+
+        final List<Move> orderedMoves = this.moveOrdering.orderMoves(board.getCurrentPlayer().getLegalMoves(), entry, 0,
+                                                                     board.getCurrentPlayer().getAlliance().isWhite());
+
+        for (final Move move : rotate(orderedMoves, this.helperIndex)) {
+            final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
+
+            if (moveTransition.getMoveStatus().isDone()) {
+                final int currentValue = searchChild(moveTransition.getTransitionBoard(), depth, 0, alpha, beta,
+                                                     movesSearched, 0);
+
+                if (this.stopped) {
+                    return 0;
+                }
+
+                if (currentValue > bestValue) {
+                    bestValue = currentValue;
+                    this.rootBestMove = move;
+
+                    if (currentValue > alpha) {
+                        alpha = currentValue;
+                        updatePrincipalVariation(0, move);
+
+                        if (alpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+                movesSearched++;
+            }
+        }
+
+        if (this.rootBestMove != null) {
+            this.transpositionTable.store(board.getZobristKey(), depth, bound(bestValue, originalAlpha, beta), bestValue,
+                                          this.rootBestMove);
+        }
+
+        return bestValue;
+    }
+
+    /**
+     * Principal variation search of one move. The first move is expected to be the best, so it is searched with the full
+     * window. Every later move is only tested with a null window, which is cheaper, to prove that it is no better than
+     * alpha. Only if that test fails is the move searched again with the full window to find its exact score.
+     *
+     * A reduced move is first tested with a null window at the reduced depth. Only if it beats alpha there is it tested
+     * again at the full depth.
+     *
+     * @param movesSearched The number of moves already searched in the parent position.
+     * @param reduction The number of plies to reduce the search of a late move by, or 0.
+     * @return The score of the move for the player who made it.
+     */
+    private int searchChild(final Board childBoard, final int depth, final int ply, final int alpha, final int beta,
+                            final int movesSearched, final int reduction) {
+        if (movesSearched == 0) {
+            return -alphaBeta(childBoard, depth - 1, ply + 1, -beta, -alpha, true);
+        }
+
+        if (reduction > 0) {
+            final int reducedValue = -alphaBeta(childBoard, depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+            if (reducedValue <= alpha || this.stopped) {
+                return reducedValue;
+            }
+        }
+
+        final int currentValue = -alphaBeta(childBoard, depth - 1, ply + 1, -alpha - 1, -alpha, true);
+        if (currentValue > alpha && currentValue < beta && !this.stopped) {
+            return -alphaBeta(childBoard, depth - 1, ply + 1, -beta, -alpha, true);
+        }
+        return currentValue;
+    }
+
+    /**
+     * The principal variation of a position is its best move followed by the principal variation of the position after
+     * it, which the search of that position has just left one row further down the table.
+     */
+    private void updatePrincipalVariation(final int ply, final Move move) {
+        this.pvTable[ply][ply] = move;
+        final int childLength = Math.max(this.pvLength[ply + 1], ply + 1);
+        System.arraycopy(this.pvTable[ply + 1], ply + 1, this.pvTable[ply], ply + 1, childLength - (ply + 1));
+        this.pvLength[ply] = childLength;
+    }
+
+    /**
+     * @return The best move of the last completed iteration, followed by the expected replies. The line ends early
+     * where the search was cut short, for example by a transposition table hit.
+     */
+    @Override
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    /**
+     * @return The depth of the last iteration completed by the most recent call to execute().
+     */
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    @Override
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    /**
+     * @return The killer and history tables of this search, with its cutoff statistics.
+     */
+    public MoveOrdering getMoveOrdering() {
+        return this.moveOrdering;
+    }
+
+    /**
+     * @param board The position to search.
+     * @param depth The remaining search depth.
+     * @param ply The distance from the root.
+     * @param alpha The score the player to move is already guaranteed elsewhere in the tree.
+     * @param beta The score above which the opponent will avoid this position.
+     * @param isNullMoveAllowed false directly after a null move, so that two null moves are never played in a row.
+     * @return The score of the position for the player to move. A score <= alpha is an upper bound and a score >= beta
+     * is a lower bound; anything in between is exact.
+     */
+    private int alphaBeta(final Board board, final int depth, final int ply, int alpha, final int beta,
+                          final boolean isNullMoveAllowed) {
+        this.nodesSearched++;
+        this.pvLength[ply] = ply;
+
+        if (isLimitReached()) {
+            return 0;
+        }
+
+        if (isEndGameScenario(board)) {
+            return perspective(board) * this.boardEvaluator.evaluate(board, depth);
+        }
+
+        // A null move reduction can take the depth below 0.
+        if (depth <= 0) {
+            return quiescence(board, 0, alpha, beta);
+        }
+
+        final long zobristKey = board.getZobristKey();
+        final long entry = this.transpositionTable.probe(zobristKey);
+
+        if (TranspositionTable.isHit(entry) && TranspositionTable.getDepth(entry) >= depth) {
+            final int score = TranspositionTable.getScore(entry);
+            final int bound = TranspositionTable.getBound(entry);
+
+            if (bound == TranspositionTable.EXACT ||
+                (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+                (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                return score;
+            }
+        }
+
+        final boolean isInCheck = board.getCurrentPlayer().isInCheck();
+        final boolean isPrincipalVariationNode = (long) beta - alpha > 1;
+
+        // Evaluated lazily, since it is only needed close to the leaves, or further up to decide on a null move.
+        final boolean isNullMoveCandidate = isNullMoveAllowed && depth > NULL_MOVE_REDUCTION &&
+                                            isEnabled(SearchFeature.NULL_MOVE_PRUNING);
+        int staticEvaluation = -INFINITY;
+        if (!isInCheck && !isPrincipalVariationNode &&
+            ((depth <= RAZORING_DEPTH &&
+              (isEnabled(SearchFeature.RAZORING) || isEnabled(SearchFeature.FUTILITY_PRUNING))) ||
+             isNullMoveCandidate)) {
+            staticEvaluation = perspective(board) * this.boardEvaluator.evaluate(board, 0);
+        }
+
+        // So far below alpha that only a capture could help: let the quiescence search check whether one does.
+        if (staticEvaluation != -INFINITY && isEnabled(SearchFeature.RAZORING)) {
+            final int razoringMargin = StandardBoardEvaluator.CHECK_BONUS + StandardBoardEvaluator.QUIET_MOVE_MARGIN * depth;
+
+            if ((long) staticEvaluation + razoringMargin <= alpha) {
+                // One ply from the leaves the quiescence search replaces the main search, so it needs the node's own
+                // window: its score is returned as the score of the node.
+                if (depth == 1) {
+                    final int quiescenceValue = quiescence(board, 0, alpha, beta);
+                    return this.stopped ? 0 : quiescenceValue;
+                }
+
+                // Further up it only tests whether even the margin cannot lift the score to alpha. A score at or below
+                // the lowered bound is an upper bound below alpha, a fail low for this node as well.
+                final int razoredAlpha = alpha - razoringMargin;
+                final int quiescenceValue = quiescence(board, 0, razoredAlpha, razoredAlpha + 1);
+
+                if (this.stopped) {
+                    return 0;
+                }
+                if (quiescenceValue <= razoredAlpha) {
+                    return quiescenceValue;
+                }
+            }
+        }
+
+        // One ply from the leaves, a quiet move cannot raise the evaluation by more than the margin.
+        final boolean isFutile = depth == 1 && staticEvaluation != -INFINITY &&
+                                 isEnabled(SearchFeature.FUTILITY_PRUNING) &&
+                                 (long) staticEvaluation + StandardBoardEvaluator.QUIET_MOVE_MARGIN <= alpha;
+
+        // Only where the player to move is already doing well: below beta, passing is unlikely to give a cutoff.
+        if (isNullMoveCandidate && staticEvaluation != -INFINITY && staticEvaluation >= beta &&
+            isNullMoveSafe(board)) {
+            final int reduction = depth > 6 ? NULL_MOVE_REDUCTION + 1 : NULL_MOVE_REDUCTION;
+            final Board nullMoveBoard = new Move.NullMove(board).execute();
+            final int nullMoveValue = -alphaBeta(nullMoveBoard, depth - 1 - reduction, ply + 1, -beta, -beta + 1, false);
+
+            if (this.stopped) {
+                return 0;
+            }
+
+            // Even a free move does not help the opponent, so a real move will be at least as good. The null move
+            // score itself is not returned: a mate found after passing is not a real mate.
+            if (nullMoveValue >= beta) {
+                return beta;
+            }
+        }
+
+        final boolean isWhiteToMove = board.getCurrentPlayer().getAlliance().isWhite();
+        final int originalAlpha = alpha;
+        int bestValue = -INFINITY;
+        Move bestMove = null;
+        int movesSearched = 0;
+
+        // Staged, so that a cutoff by the hash move or a capture saves generating the quiet moves.
+        final MovePicker movePicker = this.moveOrdering.pickMoves(board, entry, ply);
+        for (Move move = movePicker.next(); move != null; move = movePicker.next()) {
+            final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
+
+            if (moveTransition.getMoveStatus().isDone()) {
+                final Board childBoard = moveTransition.getTransitionBoard();
+                final boolean isQuiet = !MoveOrdering.isTactical(move) && !move.isCastlingMove() &&
+                                        !childBoard.getCurrentPlayer().isInCheck();
+
+                if (isFutile && isQuiet && movesSearched > 0) {
+                    bestValue = Math.max(bestValue, staticEvaluation + StandardBoardEvaluator.QUIET_MOVE_MARGIN);
+                    continue;
+                }
+
+                int reduction = 0;
+                if (isQuiet && !isInCheck && depth >= LATE_MOVE_REDUCTION_DEPTH &&
+                    movesSearched >= LATE_MOVE_REDUCTION_MOVES && isEnabled(SearchFeature.LATE_MOVE_REDUCTIONS)) {
+                    reduction = LATE_MOVE_REDUCTIONS[depth][Math.min(movesSearched, MAX_MOVE_NUMBER - 1)];
+                    // Moves on the principal variation matter the most, so they are reduced less.
+                    if (isPrincipalVariationNode) {
+                        reduction--;
+                    }
+                    reduction = Math.max(0, Math.min(reduction, depth - 2));
+                }
+
+                final int currentValue = searchChild(childBoard, depth, ply, alpha, beta, movesSearched, reduction);
+
+                // The score of an unfinished search is meaningless, and must not reach the transposition table.
+                if (this.stopped) {
+                    return 0;
+                }
+
+                if (currentValue > bestValue) {
+                    bestValue = currentValue;
+                    bestMove = move;
+
+                    if (currentValue > alpha) {
+                        alpha = currentValue;
+                        updatePrincipalVariation(ply, move);
+
+                        // The opponent already has a better alternative, so the remaining moves are irrelevant.
+                        if (alpha >= beta) {
+                            this.moveOrdering.recordCutoff(move, ply, depth, isWhiteToMove, movesSearched);
+                            break;
+                        }
+                    }
+                }
+                movesSearched++;
+            }
+        }
+
+        this.transpositionTable.store(zobristKey, depth, bound(bestValue, originalAlpha, beta), bestValue, bestMove);
+
+        return bestValue;
+    }
+
+    private boolean isEnabled(final SearchFeature searchFeature) {
+        return this.searchFeatures.contains(searchFeature);
+    }
+
+    private static int[][] calculateLateMoveReductions() {
+        final int[][] reductions = new int[MAX_PLY][MAX_MOVE_NUMBER];
+
+        for (int depth = 1; depth < MAX_PLY; depth++) {
+            for (int moveNumber = 1; moveNumber < MAX_MOVE_NUMBER; moveNumber++) {
+                reductions[depth][moveNumber] = (int) (0.75 + Math.log(depth) * Math.log(moveNumber) / 2.25);
+            }
+        }
+        return reductions;
+    }
+
+    private static int bound(final int score, final int alpha, final int beta) {
+        return score <= alpha ? TranspositionTable.UPPER_BOUND :
+               score >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+    }
+
+    /**
+     * Null move pruning assumes that passing is the worst thing a player can do. That is false in check, where passing
+     * leaves the king capturable, and often false with only king and pawns left, where zugzwang is common: every move
+     * may make the position worse.
+     */
+    private static boolean isNullMoveSafe(final Board board) {
+        if (board.getCurrentPlayer().isInCheck()) {
+            return false;
+        }
+
+        for (final Piece piece : board.getCurrentPlayer().getActivePieces()) {
+            if (!piece.getPieceType().isKing() && piece.getPieceType() != Piece.PieceType.PAWN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Searches captures and promotions only, until the position is quiet.
+     *
+     * The player to move is not forced to capture, so the static evaluation ("standing pat") is a lower bound on the
+     * score; if it already reaches beta nothing needs to be searched. For the same reason captures that lose material
+     * are skipped. A player in check cannot stand pat, so then every legal move is searched instead. Captures run out,
+     * but check evasions need not, so evasions are only searched in the first MAX_QUIESCENCE_EVASION_PLY plies.
+     *
+     * @param ply The number of plies since the end of the main search.
+     * @return The score of the position for the player to move, with the same bound semantics as alphaBeta().
+     */
+    private int quiescence(final Board board, final int ply, int alpha, final int beta) {
+        this.nodesSearched++;
+
+        if (isLimitReached()) {
+            return 0;
+        }
+
+        final boolean isInCheck = ply < MAX_QUIESCENCE_EVASION_PLY && board.getCurrentPlayer().isInCheck();
+        int bestValue = -INFINITY;
+
+        if (!isInCheck) {
+            bestValue = perspective(board) * this.boardEvaluator.evaluate(board, 0);
+
+            if (bestValue >= beta) {
+                return bestValue;
+            }
+            alpha = Math.max(alpha, bestValue);
+        }
+
+        final Collection<Move> moves = isInCheck ? board.getCurrentPlayer().getLegalMoves() :
+                                                   this.moveOrdering.orderCaptures(board.getCurrentPlayer().calculateCaptureMoves());
+
+        for (final Move move : moves) {
+            // A capture that loses material will not raise the score above standing pat.
+            if (!isInCheck && !StaticExchangeEvaluator.isNonLosing(board, move)) {
+                continue;
+            }
+
+            final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
+
+            if (moveTransition.getMoveStatus().isDone()) {
+                final int currentValue = -quiescence(moveTransition.getTransitionBoard(), ply + 1, -beta, -alpha);
+
+                if (this.stopped) {
+                    return 0;
+                }
+
+                if (currentValue > bestValue) {
+                    bestValue = currentValue;
+
+                    if (currentValue > alpha) {
+                        alpha = currentValue;
+
+                        if (alpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        // In check with no legal move: checkmate, which the evaluator scores.
+        if (bestValue == -INFINITY) {
+            return perspective(board) * this.boardEvaluator.evaluate(board, 0);
+        }
+
+        return bestValue;
+    }
+
+    /**
+     * Stops the search once the node or time limit is reached. The first iteration is never stopped, so that there is
+     * always a move to play.
+     *
+     * @return true if the search must be abandoned.
+     */
+    private boolean isLimitReached() {
+        if (!this.stopped && this.stopRequested) {
+            this.stopped = true;
+        } else if (!this.stopped && this.completedDepth > 0) {
+            this.stopped = this.nodesSearched >= this.maxNodes ||
+                           (this.nodesSearched % CHECK_INTERVAL == 0 && System.nanoTime() > this.deadline);
+        }
+        return this.stopped;
+    }
+
+    /**
+     * Asks a search running on another thread to stop as soon as possible. Unlike the search limits this also stops the
+     * first iteration, in which case execute() returns null. A stopped instance cannot be used again.
+     */
+    public void stop() {
+        this.stopRequested = true;
+    }
+
+    /**
+     * Moves the first moves to the back of the list, leaving the hash move in front. Helper threads search the root
+     * moves in a different order to the main thread, so that they fill the shared transposition table with results the
+     * main thread has not reached yet.
+     */
+    private static Collection<Move> rotate(final Collection<Move> moves, final int distance) {
+        if (distance == 0 || moves.size() < 3) {
+            return moves;
+        }
+
+        final List<Move> rotatedMoves = new ArrayList<>(moves);
+        Collections.rotate(rotatedMoves.subList(1, rotatedMoves.size()), -distance);
+        return rotatedMoves;
+    }
+
+    // The evaluator scores positions for white, so scores are negated when black is to move.
+    private static int perspective(final Board board) {
+        return board.getCurrentPlayer().getAlliance().isWhite() ? 1 : -1;
+    }
+
+    private static boolean isEndGameScenario(final Board board) {
+        // Only the player to move can be checkmated or stalemated. Probing the opponent would play moves out of turn,
+        // which can capture the king of the player to move.
+        return board.getCurrentPlayer().isInCheckMate() || board.getCurrentPlayer().isInStalemate();
+    }
+}
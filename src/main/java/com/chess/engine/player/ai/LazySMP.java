@@ -0,0 +1,136 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lazy SMP parallel search.
+ *
+ * Every thread runs its own iterative deepening {@link AlphaBeta} search of the same position, and all of them share a
+ * single {@link TranspositionTable}. The threads never communicate directly: helpers search the root moves in a
+ * different order and at staggered depths, so the results they store let the main thread cut off or order positions it
+ * has not searched yet. The main thread runs on the calling thread and decides the move; the helpers are stopped as
+ * soon as it finishes.
+ */
+public class LazySMP implements MoveStrategy {
+
+    /**
+     * The number of search threads used when none is chosen explicitly, configurable with -Dchess.threads=<count>.
+     */
+    public static final int DEFAULT_THREAD_COUNT =
+            Integer.getInteger("chess.threads", Runtime.getRuntime().availableProcessors());
+
+    private final int searchDepth;
+    private final int threadCount;
+    private final TranspositionTable transpositionTable;
+    private long nodesSearched;
+    private int completedDepth;
+    private List<Move> principalVariation = Collections.emptyList();
+
+    /**
+     * @param searchDepth The depth to search to when no search limits are given.
+     * @param threadCount The total number of search threads, including the calling thread.
+     * @param transpositionTable The table shared by all threads.
+     */
+    public LazySMP(final int searchDepth, final int threadCount, final TranspositionTable transpositionTable) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Lazy SMP needs at least one thread: " + threadCount);
+        }
+        this.searchDepth = searchDepth;
+        this.threadCount = threadCount;
+        this.transpositionTable = transpositionTable;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, SearchLimits.depth(this.searchDepth));
+    }
+
+    /**
+     * Searches with all threads until the main thread reaches a limit. Helpers are only bounded by the main thread, and
+     * the node limit applies to the main thread alone.
+     *
+     * @return The best move of the main thread.
+     */
+    @Override
+    public Move execute(final Board board, final SearchLimits searchLimits) {
+        this.transpositionTable.newSearch();
+
+        final AlphaBeta mainSearch = new AlphaBeta(this.searchDepth, this.transpositionTable);
+        final List<AlphaBeta> helperSearches = new ArrayList<>();
+        final List<Future<Move>> helperResults = new ArrayList<>();
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, this.threadCount - 1), runnable -> {
+            final Thread thread = new Thread(runnable, "LazySMP helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            for (int i = 1; i < this.threadCount; i++) {
+                final AlphaBeta helperSearch = new AlphaBeta(this.searchDepth, this.transpositionTable, SearchFeature.all(), i);
+                helperSearches.add(helperSearch);
+                helperResults.add(executorService.submit(() -> helperSearch.execute(board, searchLimits, false)));
+            }
+
+            final Move bestMove = mainSearch.execute(board, searchLimits, false);
+
+            for (final AlphaBeta helperSearch : helperSearches) {
+                helperSearch.stop();
+            }
+
+            // Wait for the helpers, so that none of them is still writing to the table when the next search starts.
+            long nodesSearched = mainSearch.getNodesSearched();
+            for (int i = 0; i < helperResults.size(); i++) {
+                helperResults.get(i).get();
+                nodesSearched += helperSearches.get(i).getNodesSearched();
+            }
+
+            this.nodesSearched = nodesSearched;
+            this.completedDepth = mainSearch.getCompletedDepth();
+            this.principalVariation = mainSearch.getPrincipalVariation();
+            return bestMove;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Lazy SMP search interrupted.", e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException("Lazy SMP helper search failed.", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * @return The number of positions visited by all threads during the most recent call to execute().
+     */
+    @Override
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    /**
+     * @return The principal variation of the main thread.
+     */
+    @Override
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    /**
+     * @return The depth of the last iteration completed by the main thread.
+     */
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+}
@@ -5,10 +5,14 @@ import com.chess.engine.board.Move;
 import com.chess.engine.player.MoveTransition;
 
 import java.util.Collection;
-//TODO: Implement alpha-beta pruning.
+
+/**
+ * Exhaustive minimax search. See {@link AlphaBeta} for the pruned equivalent.
+ */
 public class MiniMax implements MoveStrategy {
     private final BoardEvaluator boardEvaluator;
     private final int searchDepth;
+    private long nodesSearched;
 
     public MiniMax(int depth) {
         this.boardEvaluator = new StandardBoardEvaluator();
@@ -23,6 +27,20 @@ public class MiniMax implements MoveStrategy {
      */
     @Override
     public Move execute(Board board) {
+        return execute(board, this.searchDepth);
+    }
+
+    /**
+     * MiniMax always searches the whole tree to a fixed depth, so only the depth limit is honoured. Time and node limits
+     * need an iterative search such as {@link AlphaBeta}.
+     */
+    @Override
+    public Move execute(Board board, SearchLimits searchLimits) {
+        return execute(board, searchLimits.isDepthLimited() ? searchLimits.getMaxDepth() : this.searchDepth);
+    }
+
+    private Move execute(Board board, int searchDepth) {
+        this.nodesSearched = 0;
 
         Move bestMove = null;
 
@@ -42,8 +60,8 @@ public class MiniMax implements MoveStrategy {
                 // This is because white is the maximising player and black is the minimising player.
                 currentValue =
                         currentPlayerIsWhite(board) ?
-                        min(moveTransition.getTransitionBoard(), this.searchDepth-1) :
-                        max(moveTransition.getTransitionBoard(), this.searchDepth-1);
+                        min(moveTransition.getTransitionBoard(), searchDepth-1) :
+                        max(moveTransition.getTransitionBoard(), searchDepth-1);
 
                 if (currentPlayerIsWhite(board) && currentValue > maxEval) {
                     maxEval = currentValue;
@@ -53,13 +71,14 @@ public class MiniMax implements MoveStrategy {
                     bestMove = move;
                 }
             }
-
-            return bestMove;
         }
 
+        return bestMove;
+    }
 
-
-        return null;
+    @Override
+    public long getNodesSearched() {
+        return this.nodesSearched;
     }
 
     private boolean currentPlayerIsBlack(Board board) {
@@ -71,6 +90,8 @@ public class MiniMax implements MoveStrategy {
     }
 
     public int max(Board board, int depth) {
+        this.nodesSearched++;
+
         if (depth == 0 || isEndGameScenario(board)) { // todo: or game is over.
             return this.boardEvaluator.evaluate(board, depth);
         }
@@ -94,6 +115,8 @@ public class MiniMax implements MoveStrategy {
     }
 
     public int min(Board board, int depth) {
+        this.nodesSearched++;
+
         // Evaluate once max depth reached.
         if(depth == 0 || isEndGameScenario(board)) { // todo: Or if game is over.
             return this.boardEvaluator.evaluate(board, depth);
@@ -126,9 +149,10 @@ public class MiniMax implements MoveStrategy {
 
     }
 
-    private static boolean isEndGameScenario(Board board) {
-        return board.getCurrentPlayer().isInCheckMate() || board.getCurrentPlayer().isInStalemate()
-                || board.getOpponentPlayer().isInCheckMate() || board.getOpponentPlayer().isInStalemate();
+    static boolean isEndGameScenario(Board board) {
+        // Only the player to move can be checkmated or stalemated. Probing the opponent would play moves out of turn,
+        // which can capture the king of the player to move.
+        return board.getCurrentPlayer().isInCheckMate() || board.getCurrentPlayer().isInStalemate();
     }
 
 
@@ -0,0 +1,261 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Orders moves for the alpha-beta search, which cuts off the most when the best move is searched first.
+ *
+ * Moves are scored, and searched from the highest score down:
+ * <ol>
+ *     <li>the best move stored in the transposition table for the position;</li>
+ *     <li>captures and promotions that do not lose material, most valuable victim first and then least valuable
+ *     attacker first (MVV-LVA);</li>
+ *     <li>the two killer moves of the ply, quiet moves that caused a cutoff in a sibling position;</li>
+ *     <li>the other quiet moves, by how often they caused cutoffs anywhere in the tree (the history heuristic);</li>
+ *     <li>captures that lose material according to the {@link StaticExchangeEvaluator}, in MVV-LVA order.</li>
+ * </ol>
+ *
+ * Moves are identified by their current and destination positions, so that a move found in one position can be
+ * recognised in another. The killer and history tables belong to one search thread, and persist between the iterations
+ * of an iterative deepening search.
+ */
+public final class MoveOrdering {
+
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 29;
+    private static final int LOSING_CAPTURE_SCORE = -CAPTURE_SCORE;
+    private static final int FIRST_KILLER_SCORE = 1 << 28;
+    private static final int SECOND_KILLER_SCORE = FIRST_KILLER_SCORE - 1;
+    // History scores are kept below the killer scores by halving the whole table when one gets too large.
+    private static final int MAX_HISTORY_SCORE = 1 << 27;
+
+    static final int NO_MOVE = -1;
+    private static final int MAX_PLY = SearchLimits.MAX_DEPTH + 1;
+
+    private final int[][] killerMoves;
+    private final int[][] history;
+
+    private long cutoffs;
+    private long firstMoveCutoffs;
+
+    public MoveOrdering() {
+        this.killerMoves = new int[MAX_PLY][2];
+        // Butterfly boards: one score per from/to pair of squares, for each side.
+        this.history = new int[2][64 * 64];
+        clear();
+    }
+
+    /**
+     * Forgets the killer moves, which belong to the previous position, and halves the history scores so that recent
+     * results count for more. Called at the start of every search.
+     */
+    public void newSearch() {
+        for (final int[] killers : this.killerMoves) {
+            Arrays.fill(killers, NO_MOVE);
+        }
+        ageHistory();
+        this.cutoffs = 0;
+        this.firstMoveCutoffs = 0;
+    }
+
+    public void clear() {
+        newSearch();
+        for (final int[] sideHistory : this.history) {
+            Arrays.fill(sideHistory, 0);
+        }
+    }
+
+    /**
+     * @param moves The moves of a position, in generation order.
+     * @param entry The transposition table entry of the position, or 0.
+     * @param ply The distance of the position from the root.
+     * @param isWhiteToMove The side to move, which selects the history table.
+     * @return The moves in the order they should be searched.
+     */
+    public List<Move> orderMoves(final Collection<Move> moves, final long entry, final int ply,
+                                 final boolean isWhiteToMove) {
+        final Move[] orderedMoves = moves.toArray(new Move[0]);
+        final int[] scores = new int[orderedMoves.length];
+
+        final int hashMove = TranspositionTable.hasBestMove(entry) ?
+                             toIndex(TranspositionTable.getBestMoveCurrentPosition(entry),
+                                     TranspositionTable.getBestMoveDestinationPosition(entry)) : NO_MOVE;
+        final int[] killers = this.killerMoves[Math.min(ply, MAX_PLY - 1)];
+        final int[] sideHistory = this.history[isWhiteToMove ? 0 : 1];
+
+        for (int i = 0; i < orderedMoves.length; i++) {
+            final Move move = orderedMoves[i];
+            final int index = toIndex(move);
+
+            if (index == hashMove) {
+                scores[i] = HASH_MOVE_SCORE;
+            } else if (isTactical(move)) {
+                scores[i] = (StaticExchangeEvaluator.isNonLosing(move.getBoard(), move) ? CAPTURE_SCORE :
+                             LOSING_CAPTURE_SCORE) + captureScore(move);
+            } else if (index == killers[0]) {
+                scores[i] = FIRST_KILLER_SCORE;
+            } else if (index == killers[1]) {
+                scores[i] = SECOND_KILLER_SCORE;
+            } else {
+                scores[i] = sideHistory[index];
+            }
+        }
+
+        sort(orderedMoves, scores);
+        return Arrays.asList(orderedMoves);
+    }
+
+    /**
+     * The same order as orderMoves(), but each stage of moves is only generated once the moves before it have been
+     * searched, see {@link MovePicker}.
+     *
+     * @param board The position, with the player to move selecting the history table.
+     * @param entry The transposition table entry of the position, or 0.
+     * @param ply The distance of the position from the root.
+     */
+    MovePicker pickMoves(final Board board, final long entry, final int ply) {
+        final int hashMove = TranspositionTable.hasBestMove(entry) ?
+                             toIndex(TranspositionTable.getBestMoveCurrentPosition(entry),
+                                     TranspositionTable.getBestMoveDestinationPosition(entry)) : NO_MOVE;
+        return new MovePicker(board, hashMove, this.killerMoves[Math.min(ply, MAX_PLY - 1)],
+                              this.history[board.getCurrentPlayer().getAlliance().isWhite() ? 0 : 1]);
+    }
+
+    /**
+     * @param captureMoves Captures and promotions, as in the quiescence search.
+     * @return The moves in MVV-LVA order.
+     */
+    public List<Move> orderCaptures(final Collection<Move> captureMoves) {
+        final Move[] orderedMoves = captureMoves.toArray(new Move[0]);
+        final int[] scores = new int[orderedMoves.length];
+
+        for (int i = 0; i < orderedMoves.length; i++) {
+            scores[i] = captureScore(orderedMoves[i]);
+        }
+
+        sort(orderedMoves, scores);
+        return Arrays.asList(orderedMoves);
+    }
+
+    /**
+     * Records the move that caused a beta cutoff. A quiet move becomes the first killer of the ply, and its history
+     * score grows with the square of the remaining depth, since cutoffs near the root save the most work.
+     *
+     * @param moveNumber The number of moves searched before this one.
+     */
+    public void recordCutoff(final Move move, final int ply, final int depth, final boolean isWhiteToMove,
+                             final int moveNumber) {
+        this.cutoffs++;
+        if (moveNumber == 0) {
+            this.firstMoveCutoffs++;
+        }
+
+        if (isTactical(move)) {
+            return;
+        }
+
+        final int index = toIndex(move);
+        final int[] killers = this.killerMoves[Math.min(ply, MAX_PLY - 1)];
+        if (killers[0] != index) {
+            killers[1] = killers[0];
+            killers[0] = index;
+        }
+
+        final int[] sideHistory = this.history[isWhiteToMove ? 0 : 1];
+        sideHistory[index] += depth * depth;
+        if (sideHistory[index] >= MAX_HISTORY_SCORE) {
+            ageHistory();
+        }
+    }
+
+    /**
+     * @return The number of beta cutoffs since the search started.
+     */
+    public long getCutoffs() {
+        return this.cutoffs;
+    }
+
+    /**
+     * @return The fraction of beta cutoffs caused by the first move searched. The closer to 1, the better the ordering.
+     */
+    public double getFirstMoveCutoffRate() {
+        return this.cutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.cutoffs;
+    }
+
+    private void ageHistory() {
+        for (final int[] sideHistory : this.history) {
+            for (int i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] /= 2;
+            }
+        }
+    }
+
+    static boolean isTactical(final Move move) {
+        return move.isAttack() || move instanceof Move.PawnPromotionMove;
+    }
+
+    /**
+     * Victims are worth a hundred times their value and attackers subtract theirs, so any capture of a more valuable
+     * piece is tried before any capture of a less valuable one. A promotion adds the material it gains to the victim.
+     * The king is the cheapest attacker after the pawn, since only a safe capture is legal for it.
+     */
+    static int captureScore(final Move move) {
+        int victimValue = move.isAttack() ? move.getAttackedPiece().getPieceValue() : 0;
+        if (move instanceof Move.PawnPromotionMove) {
+            victimValue += Piece.PieceType.QUEEN.getValue() - Piece.PieceType.PAWN.getValue();
+        }
+        final int attackerValue = move.getMovedPiece().getPieceType().isKing() ? 2 :
+                                  move.getMovedPiece().getPieceValue();
+        return victimValue * 100 - attackerValue;
+    }
+
+    static int toIndex(final Move move) {
+        return toIndex(move.getCurrentPosition(), move.getDestinationPosition());
+    }
+
+    private static int toIndex(final int currentPosition, final int destinationPosition) {
+        return currentPosition * 64 + destinationPosition;
+    }
+
+    static int getCurrentPosition(final int index) {
+        return index / 64;
+    }
+
+    static int getDestinationPosition(final int index) {
+        return index % 64;
+    }
+
+    /**
+     * Insertion sort on the scores, moving the moves with them, highest score first. Move lists are short, and the
+     * sort is stable, so equally scored moves keep their generation order.
+     */
+    static void sort(final Move[] moves, final int[] scores) {
+        sort(moves, scores, moves.length);
+    }
+
+    /**
+     * Sorts the first size moves only.
+     */
+    static void sort(final Move[] moves, final int[] scores, final int size) {
+        for (int i = 1; i < size; i++) {
+            final Move move = moves[i];
+            final int score = scores[i];
+            int j = i - 1;
+
+            while (j >= 0 && scores[j] < score) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+
+            moves[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out the moves of a position one at a time, in the order of {@link MoveOrdering#orderMoves}, but generates each
+ * group of moves only when the previous groups have been searched:
+ * <ol>
+ *     <li>the hash move, found among the moves of the piece on its current position;</li>
+ *     <li>the captures and promotions that do not lose material, from the player's capture moves;</li>
+ *     <li>the killer moves, found like the hash move;</li>
+ *     <li>the other quiet moves, the only stage that needs every legal move of the player;</li>
+ *     <li>the captures that lose material, put aside by the second stage.</li>
+ * </ol>
+ *
+ * Most beta cutoffs happen in the first two stages, and then the quiet moves are never generated. The history scores of
+ * the quiet moves are read when their stage starts, so they include the cutoffs found in the earlier stages.
+ */
+final class MovePicker {
+
+    private enum Stage {
+        HASH_MOVE, CAPTURES, KILLERS, QUIET_MOVES, LOSING_CAPTURES, DONE
+    }
+
+    private final Board board;
+    private final Player player;
+    private final int hashMove;
+    private final int firstKiller;
+    private final int secondKiller;
+    private final int[] sideHistory;
+
+    private Stage stage;
+    private Move[] moves;
+    private int[] scores;
+    private int size;
+    private int next;
+    private int killersTried;
+    private final List<Move> losingCaptures;
+
+    MovePicker(final Board board, final int hashMove, final int[] killers, final int[] sideHistory) {
+        this.board = board;
+        this.player = board.getCurrentPlayer();
+        this.hashMove = hashMove;
+        this.firstKiller = killers[0];
+        this.secondKiller = killers[1];
+        this.sideHistory = sideHistory;
+        this.stage = Stage.HASH_MOVE;
+        this.losingCaptures = new ArrayList<>();
+    }
+
+    /**
+     * @return The next move to search, or null when every move has been returned. Like the player's legal moves, a
+     * move may leave the king in check, which makeMove() reports.
+     */
+    Move next() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE:
+                    this.stage = Stage.CAPTURES;
+                    if (this.hashMove != MoveOrdering.NO_MOVE) {
+                        final Move move = findMove(this.hashMove);
+                        if (move != null) {
+                            return move;
+                        }
+                    }
+                    break;
+                case CAPTURES:
+                    if (this.moves == null) {
+                        generateCaptures();
+                    }
+                    if (this.next < this.size) {
+                        return this.moves[this.next++];
+                    }
+                    this.stage = Stage.KILLERS;
+                    break;
+                case KILLERS:
+                    while (this.killersTried < 2) {
+                        final int killer = this.killersTried++ == 0 ? this.firstKiller : this.secondKiller;
+                        if (killer != MoveOrdering.NO_MOVE && killer != this.hashMove) {
+                            final Move move = findMove(killer);
+                            // A killer that captures here has already been returned with the captures.
+                            if (move != null && !MoveOrdering.isTactical(move)) {
+                                return move;
+                            }
+                        }
+                    }
+                    this.stage = Stage.QUIET_MOVES;
+                    generateQuietMoves();
+                    break;
+                case QUIET_MOVES:
+                    if (this.next < this.size) {
+                        return this.moves[this.next++];
+                    }
+                    this.stage = Stage.LOSING_CAPTURES;
+                    this.moves = this.losingCaptures.toArray(new Move[0]);
+                    this.size = this.moves.length;
+                    this.next = 0;
+                    break;
+                case LOSING_CAPTURES:
+                    if (this.next < this.size) {
+                        return this.moves[this.next++];
+                    }
+                    this.stage = Stage.DONE;
+                    break;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * The losing captures are only set aside here, already in MVV-LVA order, and returned after the quiet moves.
+     */
+    private void generateCaptures() {
+        final Move[] orderedCaptures = this.player.calculateCaptureMoves().toArray(new Move[0]);
+        final int[] captureScores = new int[orderedCaptures.length];
+
+        for (int i = 0; i < orderedCaptures.length; i++) {
+            captureScores[i] = MoveOrdering.captureScore(orderedCaptures[i]);
+        }
+        MoveOrdering.sort(orderedCaptures, captureScores);
+
+        this.moves = new Move[orderedCaptures.length];
+        this.size = 0;
+        for (final Move move : orderedCaptures) {
+            if (MoveOrdering.toIndex(move) == this.hashMove) {
+                continue;
+            }
+            if (StaticExchangeEvaluator.isNonLosing(this.board, move)) {
+                this.moves[this.size++] = move;
+            } else {
+                this.losingCaptures.add(move);
+            }
+        }
+        this.next = 0;
+    }
+
+    private void generateQuietMoves() {
+        this.moves = new Move[this.player.getLegalMoves().size()];
+        this.scores = new int[this.moves.length];
+        this.size = 0;
+
+        for (final Move move : this.player.getLegalMoves()) {
+            final int index = MoveOrdering.toIndex(move);
+            if (!MoveOrdering.isTactical(move) && index != this.hashMove && index != this.firstKiller &&
+                index != this.secondKiller) {
+                this.moves[this.size] = move;
+                this.scores[this.size] = this.sideHistory[index];
+                this.size++;
+            }
+        }
+
+        MoveOrdering.sort(this.moves, this.scores, this.size);
+        this.next = 0;
+    }
+
+    /**
+     * Finds a move remembered from another position among the moves of the piece on its current position, without
+     * generating the moves of the other pieces. Castling moves are generated by the player rather than the king, so
+     * they are looked up there.
+     *
+     * @return The move with the same positions in this position, or null if there is none.
+     */
+    private Move findMove(final int moveIndex) {
+        final int currentPosition = MoveOrdering.getCurrentPosition(moveIndex);
+        final int destinationPosition = MoveOrdering.getDestinationPosition(moveIndex);
+        final Piece piece = this.board.getTile(currentPosition).getPiece();
+
+        if (piece == null || piece.getAlliance() != this.player.getAlliance()) {
+            return null;
+        }
+
+        for (final Move move : piece.calculateLegalMoves(this.board)) {
+            if (move.getDestinationPosition() == destinationPosition) {
+                return move;
+            }
+        }
+
+        return piece.getPieceType().isKing() && Math.abs(destinationPosition - currentPosition) == 2 ?
+               this.player.getLegalMove(currentPosition, destinationPosition) : null;
+    }
+}
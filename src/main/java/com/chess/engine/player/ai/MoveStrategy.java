@@ -3,6 +3,29 @@ package com.chess.engine.player.ai;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 
+import java.util.Collections;
+import java.util.List;
+
 public interface MoveStrategy {
     Move execute(Board board);
+
+    /**
+     * @param board The board to find a move on.
+     * @param searchLimits The time, node and depth limits of the search.
+     * @return The best move found within the limits.
+     */
+    Move execute(Board board, SearchLimits searchLimits);
+
+    /**
+     * @return The number of positions visited by the most recent call to execute().
+     */
+    long getNodesSearched();
+
+    /**
+     * @return The best move of the most recent call to execute(), followed by the replies the search expects, or an
+     * empty list if the strategy does not keep track of them.
+     */
+    default List<Move> getPrincipalVariation() {
+        return Collections.emptyList();
+    }
 }
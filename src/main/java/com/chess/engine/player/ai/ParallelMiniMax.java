@@ -0,0 +1,329 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A deterministic parallel version of the {@link MiniMax} max() and min() recursion, with alpha-beta bounds, run on a
+ * {@link ForkJoinPool}.
+ *
+ * The tree is split Young Brothers Wait style: at every node the first legal move (the eldest brother) is searched
+ * sequentially to establish a bound, and only then are the remaining moves forked as {@link RecursiveTask}s. The
+ * siblings share the node's bound, so a sibling that finishes early tightens the window of those still running. If one
+ * of them fails high the rest are cancelled.
+ *
+ * Thread timing changes how much is pruned, but never the result: exact scores do not depend on the order in which
+ * bounds are tightened, and at the root every move is searched with a window just wide enough to score ties exactly.
+ * The root then picks the first move in generation order with the best score, so the best move is bit-identical to that
+ * of MiniMax at the same depth, whatever the number of threads.
+ */
+public class ParallelMiniMax implements MoveStrategy {
+    // Integer.MIN_VALUE and Integer.MAX_VALUE are the scores of positions without moves in MiniMax.
+    private static final int INFINITY = Integer.MAX_VALUE;
+    private static final int NEG_INFINITY = Integer.MIN_VALUE;
+
+    // Nodes closer to the leaves than this are searched sequentially, as forking them costs more than it saves.
+    private static final int MIN_SPLIT_DEPTH = 2;
+
+    // One pool for each parallelism, shared by every instance. The GUI creates a strategy for every move, and the pool
+    // threads outlive it: they are daemon threads, started on demand and retired after a while without work.
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final BoardEvaluator boardEvaluator;
+    private final int searchDepth;
+    private final ForkJoinPool pool;
+    private final LongAdder nodesSearched;
+
+    /**
+     * @param searchDepth The depth to search to.
+     * @param parallelism The number of threads in the fork/join pool.
+     */
+    public ParallelMiniMax(final int searchDepth, final int parallelism) {
+        this.boardEvaluator = new StandardBoardEvaluator();
+        this.searchDepth = searchDepth;
+        this.pool = POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+        this.nodesSearched = new LongAdder();
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return execute(board, this.searchDepth);
+    }
+
+    /**
+     * Results are only reproducible at a fixed depth, so like MiniMax only the depth limit is honoured.
+     */
+    @Override
+    public Move execute(final Board board, final SearchLimits searchLimits) {
+        return execute(board, searchLimits.isDepthLimited() ? searchLimits.getMaxDepth() : this.searchDepth);
+    }
+
+    private Move execute(final Board board, final int searchDepth) {
+        this.nodesSearched.reset();
+        return this.pool.invoke(new RootTask(board, searchDepth));
+    }
+
+    @Override
+    public long getNodesSearched() {
+        return this.nodesSearched.sum();
+    }
+
+    /**
+     * Searches the root moves. White picks the first move with the highest score and black the first move with the
+     * lowest, as in MiniMax.
+     */
+    private class RootTask extends RecursiveTask<Move> {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+
+        RootTask(final Board board, final int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Move compute() {
+            final List<Move> moves = new ArrayList<>();
+            final List<MoveTransition> transitions = new ArrayList<>();
+            for (final Move move : this.board.getCurrentPlayer().getLegalMoves()) {
+                final MoveTransition moveTransition = this.board.getCurrentPlayer().makeMove(move);
+                if (moveTransition.getMoveStatus().isDone()) {
+                    moves.add(move);
+                    transitions.add(moveTransition);
+                }
+            }
+
+            if (transitions.isEmpty()) {
+                return null;
+            }
+
+            final boolean isWhite = this.board.getCurrentPlayer().getAlliance().isWhite();
+            final SplitPoint root = new SplitPoint(null, isWhite ? NEG_INFINITY : INFINITY, isWhite);
+            final int[] values = new int[transitions.size()];
+
+            values[0] = searchRootMove(transitions.get(0), root);
+
+            final List<RecursiveTask<Integer>> siblings = new ArrayList<>();
+            for (int i = 1; i < transitions.size(); i++) {
+                final MoveTransition moveTransition = transitions.get(i);
+                siblings.add(new RecursiveTask<Integer>() {
+                    @Override
+                    protected Integer compute() {
+                        return searchRootMove(moveTransition, root);
+                    }
+                });
+            }
+            invokeAll(siblings);
+
+            int bestIndex = 0;
+            for (int i = 1; i < values.length; i++) {
+                values[i] = siblings.get(i - 1).join();
+                if (isWhite ? values[i] > values[bestIndex] : values[i] < values[bestIndex]) {
+                    bestIndex = i;
+                }
+            }
+
+            return moves.get(bestIndex);
+        }
+
+        /**
+         * The window stops one short of the best score so far, so a move that ties it is scored exactly rather than
+         * cut off. That way the first of several equally good moves wins no matter which finished first.
+         */
+        private int searchRootMove(final MoveTransition moveTransition, final SplitPoint root) {
+            final int bestValue = root.bound.get();
+            final int value;
+
+            if (root.isMaximising) {
+                final int alpha = bestValue == NEG_INFINITY ? NEG_INFINITY : bestValue - 1;
+                value = min(moveTransition.getTransitionBoard(), this.depth - 1, alpha, INFINITY, root);
+            } else {
+                final int beta = bestValue == INFINITY ? INFINITY : bestValue + 1;
+                value = max(moveTransition.getTransitionBoard(), this.depth - 1, NEG_INFINITY, beta, root);
+            }
+
+            root.tighten(value);
+            return value;
+        }
+    }
+
+    private int max(final Board board, final int depth, int alpha, final int beta, final SplitPoint parent) {
+        this.nodesSearched.increment();
+
+        if (parent.isCancelled()) {
+            return NEG_INFINITY;
+        }
+
+        if (depth == 0 || MiniMax.isEndGameScenario(board)) {
+            return this.boardEvaluator.evaluate(board, depth);
+        }
+
+        int maxEval = NEG_INFINITY;
+        final List<Move> youngerBrothers = new ArrayList<>();
+
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            // Young brothers wait until the eldest brother has been searched.
+            if (maxEval != NEG_INFINITY && depth >= MIN_SPLIT_DEPTH) {
+                youngerBrothers.add(move);
+                continue;
+            }
+
+            final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                maxEval = Math.max(maxEval, min(moveTransition.getTransitionBoard(), depth - 1, alpha, beta, parent));
+                alpha = Math.max(alpha, maxEval);
+
+                if (alpha >= beta) {
+                    return maxEval;
+                }
+            }
+        }
+
+        if (youngerBrothers.isEmpty()) {
+            return maxEval;
+        }
+
+        return Math.max(maxEval, searchSiblings(board, youngerBrothers, depth, alpha, beta,
+                                                new SplitPoint(parent, alpha, true)));
+    }
+
+    private int min(final Board board, final int depth, final int alpha, int beta, final SplitPoint parent) {
+        this.nodesSearched.increment();
+
+        if (parent.isCancelled()) {
+            return INFINITY;
+        }
+
+        if (depth == 0 || MiniMax.isEndGameScenario(board)) {
+            return this.boardEvaluator.evaluate(board, depth);
+        }
+
+        int minEval = INFINITY;
+        final List<Move> youngerBrothers = new ArrayList<>();
+
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            // Young brothers wait until the eldest brother has been searched.
+            if (minEval != INFINITY && depth >= MIN_SPLIT_DEPTH) {
+                youngerBrothers.add(move);
+                continue;
+            }
+
+            final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                minEval = Math.min(minEval, max(moveTransition.getTransitionBoard(), depth - 1, alpha, beta, parent));
+                beta = Math.min(beta, minEval);
+
+                if (alpha >= beta) {
+                    return minEval;
+                }
+            }
+        }
+
+        if (youngerBrothers.isEmpty()) {
+            return minEval;
+        }
+
+        return Math.min(minEval, searchSiblings(board, youngerBrothers, depth, alpha, beta,
+                                                new SplitPoint(parent, beta, false)));
+    }
+
+    /**
+     * Forks one task per younger brother and combines their scores. Each task starts from the bound shared through the
+     * split point, and tightens it when it finishes. A task whose result arrives after the split point was cancelled may
+     * have been cut short, so it reports the neutral score instead.
+     */
+    private int searchSiblings(final Board board, final List<Move> moves, final int depth,
+                               final int alpha, final int beta, final SplitPoint splitPoint) {
+        final List<RecursiveTask<Integer>> tasks = new ArrayList<>(moves.size());
+        final int neutralValue = splitPoint.isMaximising ? NEG_INFINITY : INFINITY;
+
+        for (final Move move : moves) {
+            tasks.add(new RecursiveTask<Integer>() {
+                @Override
+                protected Integer compute() {
+                    if (splitPoint.isCancelled()) {
+                        return neutralValue;
+                    }
+
+                    final MoveTransition moveTransition = board.getCurrentPlayer().makeMove(move);
+                    if (!moveTransition.getMoveStatus().isDone()) {
+                        return neutralValue;
+                    }
+
+                    final Board transitionBoard = moveTransition.getTransitionBoard();
+                    final int value = splitPoint.isMaximising ?
+                            min(transitionBoard, depth - 1, Math.max(alpha, splitPoint.bound.get()), beta, splitPoint) :
+                            max(transitionBoard, depth - 1, alpha, Math.min(beta, splitPoint.bound.get()), splitPoint);
+
+                    if (splitPoint.isCancelled()) {
+                        return neutralValue;
+                    }
+
+                    splitPoint.tighten(value);
+                    if (splitPoint.isMaximising ? value >= beta : value <= alpha) {
+                        splitPoint.cutoff = true;
+                    }
+                    return value;
+                }
+            });
+        }
+
+        ForkJoinTask.invokeAll(tasks);
+
+        int value = neutralValue;
+        for (final RecursiveTask<Integer> task : tasks) {
+            value = splitPoint.isMaximising ? Math.max(value, task.join()) : Math.min(value, task.join());
+        }
+        return value;
+    }
+
+    /**
+     * A node whose younger brothers are being searched in parallel. It holds the bound they share (alpha at a
+     * maximising node, beta at a minimising one) and whether one of them has failed high, making the others pointless.
+     */
+    private static final class SplitPoint {
+        private final SplitPoint parent;
+        private final AtomicInteger bound;
+        private final boolean isMaximising;
+        private volatile boolean cutoff;
+
+        SplitPoint(final SplitPoint parent, final int bound, final boolean isMaximising) {
+            this.parent = parent;
+            this.bound = new AtomicInteger(bound);
+            this.isMaximising = isMaximising;
+        }
+
+        void tighten(final int value) {
+            if (this.isMaximising) {
+                this.bound.accumulateAndGet(value, Math::max);
+            } else {
+                this.bound.accumulateAndGet(value, Math::min);
+            }
+        }
+
+        /**
+         * @return true if this split point or any split point above it has been cut off.
+         */
+        boolean isCancelled() {
+            for (SplitPoint splitPoint = this; splitPoint != null; splitPoint = splitPoint.parent) {
+                if (splitPoint.cutoff) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
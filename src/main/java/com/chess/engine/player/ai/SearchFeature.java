@@ -0,0 +1,36 @@
+package com.chess.engine.player.ai;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The selective search techniques of {@link AlphaBeta}, which can be switched off one by one to measure what each of
+ * them gains. All of them trade a small risk of missing the best move for a smaller tree.
+ */
+public enum SearchFeature {
+    /**
+     * Cut off positions where even passing the turn keeps the score above beta.
+     */
+    NULL_MOVE_PRUNING,
+    /**
+     * Search quiet moves late in the move order to a reduced depth, and only search them fully if they turn out better
+     * than expected.
+     */
+    LATE_MOVE_REDUCTIONS,
+    /**
+     * One ply from the leaves, skip quiet moves that cannot bring the static evaluation up to alpha.
+     */
+    FUTILITY_PRUNING,
+    /**
+     * Close to the leaves, drop straight into the quiescence search when the static evaluation is far below alpha.
+     */
+    RAZORING;
+
+    public static Set<SearchFeature> all() {
+        return EnumSet.allOf(SearchFeature.class);
+    }
+
+    public static Set<SearchFeature> none() {
+        return EnumSet.noneOf(SearchFeature.class);
+    }
+}
@@ -0,0 +1,131 @@
+package com.chess.engine.player.ai;
+
+/**
+ * The resources a search may spend on a move: a fixed time per move, a share of the remaining clock, a node budget and
+ * a maximum depth. Any combination may be set; the search stops at whichever limit is reached first. A value of 0 means
+ * the limit is not set.
+ */
+public final class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+
+    // Assume the game lasts this many more moves when budgeting the remaining clock.
+    private static final int MOVES_TO_GO = 30;
+    // Time kept back from the clock to cover the overhead of returning and playing the move.
+    private static final long SAFETY_MARGIN_MILLIS = 50;
+
+    private final long moveTimeMillis;
+    private final long remainingTimeMillis;
+    private final long incrementMillis;
+    private final long nodeLimit;
+    private final int depthLimit;
+
+    private SearchLimits(final Builder builder) {
+        this.moveTimeMillis = builder.moveTimeMillis;
+        this.remainingTimeMillis = builder.remainingTimeMillis;
+        this.incrementMillis = builder.incrementMillis;
+        this.nodeLimit = builder.nodeLimit;
+        this.depthLimit = builder.depthLimit;
+    }
+
+    /**
+     * @param depth The depth to search to.
+     * @return Limits that only bound the search depth.
+     */
+    public static SearchLimits depth(final int depth) {
+        return new Builder().setDepthLimit(depth).build();
+    }
+
+    /**
+     * @param moveTimeMillis The time to spend on the move.
+     * @return Limits that only bound the time spent on the move.
+     */
+    public static SearchLimits moveTime(final long moveTimeMillis) {
+        return new Builder().setMoveTimeMillis(moveTimeMillis).build();
+    }
+
+    /**
+     * @return The maximum depth to search to, which is MAX_DEPTH if no depth limit is set.
+     */
+    public int getMaxDepth() {
+        return this.depthLimit > 0 ? Math.min(this.depthLimit, MAX_DEPTH) : MAX_DEPTH;
+    }
+
+    /**
+     * @return The maximum number of nodes to search, or Long.MAX_VALUE if no node limit is set.
+     */
+    public long getMaxNodes() {
+        return this.nodeLimit > 0 ? this.nodeLimit : Long.MAX_VALUE;
+    }
+
+    /**
+     * A fixed move time is used as is. Otherwise the search may spend an even share of the remaining clock plus most
+     * of the increment, but never more than the clock minus a safety margin.
+     *
+     * @return The time the search may spend in milliseconds, or Long.MAX_VALUE if no time limit is set.
+     */
+    public long getTimeBudgetMillis() {
+        if (this.moveTimeMillis > 0) {
+            return this.moveTimeMillis;
+        }
+
+        if (this.remainingTimeMillis > 0) {
+            final long budget = this.remainingTimeMillis / MOVES_TO_GO + this.incrementMillis * 3 / 4;
+            return Math.max(1, Math.min(budget, this.remainingTimeMillis - SAFETY_MARGIN_MILLIS));
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    public boolean isDepthLimited() {
+        return this.depthLimit > 0;
+    }
+
+    public boolean isTimeLimited() {
+        return this.moveTimeMillis > 0 || this.remainingTimeMillis > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchLimits{moveTime=" + this.moveTimeMillis + "ms, remaining=" + this.remainingTimeMillis +
+               "ms, increment=" + this.incrementMillis + "ms, nodes=" + this.nodeLimit +
+               ", depth=" + this.depthLimit + "}";
+    }
+
+    public static class Builder {
+        long moveTimeMillis;
+        long remainingTimeMillis;
+        long incrementMillis;
+        long nodeLimit;
+        int depthLimit;
+
+        public Builder setMoveTimeMillis(final long moveTimeMillis) {
+            this.moveTimeMillis = moveTimeMillis;
+            return this;
+        }
+
+        public Builder setRemainingTimeMillis(final long remainingTimeMillis) {
+            this.remainingTimeMillis = remainingTimeMillis;
+            return this;
+        }
+
+        public Builder setIncrementMillis(final long incrementMillis) {
+            this.incrementMillis = incrementMillis;
+            return this;
+        }
+
+        public Builder setNodeLimit(final long nodeLimit) {
+            this.nodeLimit = nodeLimit;
+            return this;
+        }
+
+        public Builder setDepthLimit(final int depthLimit) {
+            this.depthLimit = depthLimit;
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
@@ -5,7 +5,17 @@ import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
 public class StandardBoardEvaluator implements BoardEvaluator {
-    private static final int CHECK_BONUS = 50;
+    /**
+     * The most a quiet move (one that does not capture, promote, castle or give check) raises the evaluation for the
+     * player making it. Such a move only changes the mobility terms, which moved by at most 19 over 60,000 quiet moves
+     * from random games. Used as the margin for futility pruning and razoring.
+     */
+    public static final int QUIET_MOVE_MARGIN = 20;
+    /**
+     * The bonus for giving check, which the quiescence search cannot find since checks are quiet moves.
+     */
+    public static final int CHECK_BONUS = 50;
+
     private static final int CHECK_MATE_BONUS = 10000;
     private static final int DEPTH_BONUS = 100;
     private static final int CASTLE_BONUS = 60;
@@ -0,0 +1,154 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.MagicBitboards;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece;
+
+/**
+ * Static exchange evaluation (SEE): the material won or lost by a capture once every piece bearing on the destination
+ * square has joined in, each side always recapturing with its least valuable piece and stopping when recapturing would
+ * lose material.
+ *
+ * The exchange is played out on a copy of the board's occupancy bitboard, rather than by executing moves. Removing a
+ * piece that has captured clears its bit, so a slider lined up behind it (an x-ray attacker) appears in the next
+ * attack set looked up along the same line. No boards or moves are created, so an evaluation allocates nothing but a
+ * small array.
+ *
+ * Pins are ignored, as is usual: a pinned piece is assumed to be free to recapture.
+ */
+public final class StaticExchangeEvaluator {
+
+    // No exchange on one square can last longer than the number of pieces on the board.
+    private static final int MAX_EXCHANGE_LENGTH = 32;
+    private static final int NO_ATTACKER = -1;
+
+    private StaticExchangeEvaluator() {
+        throw new RuntimeException("The StaticExchangeEvaluator class cannot be instantiated.");
+    }
+
+    /**
+     * @param board The board the move is made on.
+     * @param move A capture or promotion of the player to move.
+     * @return The material the player gains from the exchange, in piece values, which is negative if the capture
+     * loses material.
+     */
+    public static int evaluate(final Board board, final Move move) {
+        final int destinationPosition = move.getDestinationPosition();
+        final boolean isPromotion = move instanceof Move.PawnPromotionMove;
+        final int promotionGain = isPromotion ?
+                                  Piece.PieceType.QUEEN.getValue() - Piece.PieceType.PAWN.getValue() : 0;
+
+        final int[] gain = new int[MAX_EXCHANGE_LENGTH];
+        gain[0] = (move.isAttack() ? move.getAttackedPiece().getPieceValue() : 0) + promotionGain;
+
+        long occupancy = board.getBitBoard().getOccupancy();
+        occupancy &= ~(1L << move.getCurrentPosition());
+        if (move.isAttack()) {
+            // Usually a no-op, but an en passant capture removes a pawn from another square.
+            occupancy &= ~(1L << move.getAttackedPiece().getPiecePosition());
+        }
+        occupancy |= 1L << destinationPosition;
+
+        // The value of the piece now standing on the destination square, which the next capture wins.
+        int pieceOnSquareValue = isPromotion ? Piece.PieceType.QUEEN.getValue() : move.getMovedPiece().getPieceValue();
+        Alliance side = move.getMovedPiece().getAlliance().isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        int depth = 0;
+
+        while (depth < MAX_EXCHANGE_LENGTH - 1) {
+            // What the side to capture next would gain, if it has a piece to capture with.
+            depth++;
+            gain[depth] = pieceOnSquareValue - gain[depth - 1];
+
+            // Neither side can come out ahead by continuing, so the exchange would stop here either way.
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                break;
+            }
+
+            final int attackerPosition = findLeastValuableAttacker(board, destinationPosition, side, occupancy);
+            if (attackerPosition == NO_ATTACKER) {
+                break;
+            }
+
+            occupancy &= ~(1L << attackerPosition);
+            pieceOnSquareValue = board.getTile(attackerPosition).getPiece().getPieceValue();
+            side = side.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        }
+
+        // The last gain was never realised. Each side may decline to recapture, so work back from the end.
+        while (--depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+
+        return gain[0];
+    }
+
+    /**
+     * @return true if the capture does not lose material. Captures of a piece worth at least as much as the capturing
+     * piece are accepted without playing out the exchange.
+     */
+    public static boolean isNonLosing(final Board board, final Move move) {
+        if (move.isAttack() && move.getAttackedPiece().getPieceValue() >= move.getMovedPiece().getPieceValue()) {
+            return true;
+        }
+        return evaluate(board, move) >= 0;
+    }
+
+    /**
+     * Looks for attackers in order of increasing value. A piece whose bit is cleared from the occupancy has already
+     * been exchanged off, and no longer blocks or attacks.
+     *
+     * @return The position of the least valuable piece of the given side attacking the square, or NO_ATTACKER.
+     */
+    private static int findLeastValuableAttacker(final Board board, final int position, final Alliance side,
+                                                 final long occupancy) {
+        final BitBoard bitBoard = board.getBitBoard();
+        final Alliance opponent = side.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+
+        // The pawns attacking a square stand where an opposing pawn on that square would attack.
+        final long pawns = AttackTables.pawnAttacks(opponent, position) & occupancy &
+                           bitBoard.getPieces(Piece.PieceType.PAWN, side);
+        if (pawns != 0) {
+            return Long.numberOfTrailingZeros(pawns);
+        }
+
+        final long knights = AttackTables.knightAttacks(position) & occupancy &
+                             bitBoard.getPieces(Piece.PieceType.KNIGHT, side);
+        if (knights != 0) {
+            return Long.numberOfTrailingZeros(knights);
+        }
+
+        // Sliders are found through their attack sets from the square, which stop at the first occupied square.
+        final long diagonalAttacks = MagicBitboards.bishopAttacks(position, occupancy) & occupancy;
+        final long orthogonalAttacks = MagicBitboards.rookAttacks(position, occupancy) & occupancy;
+
+        final long bishops = diagonalAttacks & bitBoard.getPieces(Piece.PieceType.BISHOP, side);
+        if (bishops != 0) {
+            return Long.numberOfTrailingZeros(bishops);
+        }
+
+        final long rooks = orthogonalAttacks & bitBoard.getPieces(Piece.PieceType.ROOK, side);
+        if (rooks != 0) {
+            return Long.numberOfTrailingZeros(rooks);
+        }
+
+        final long queens = bitBoard.getPieces(Piece.PieceType.QUEEN, side);
+        if ((diagonalAttacks & queens) != 0) {
+            return Long.numberOfTrailingZeros(diagonalAttacks & queens);
+        }
+        if ((orthogonalAttacks & queens) != 0) {
+            return Long.numberOfTrailingZeros(orthogonalAttacks & queens);
+        }
+
+        final long kings = AttackTables.kingAttacks(position) & occupancy &
+                           bitBoard.getPieces(Piece.PieceType.KING, side);
+        if (kings != 0) {
+            return Long.numberOfTrailingZeros(kings);
+        }
+
+        return NO_ATTACKER;
+    }
+}
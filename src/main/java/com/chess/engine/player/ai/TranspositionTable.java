@@ -0,0 +1,168 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Move;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size hash table of search results, indexed by the zobrist key of the position searched.
+ *
+ * Each entry is two longs in a single flat array: the packed data (score, depth, bound type, age and best move) and the
+ * zobrist key XOR-ed with that data. A thread reading an entry that another thread is half way through writing sees a
+ * key and data that no longer XOR to the key it is looking for, and treats the entry as a miss. This lets any number of
+ * search threads share one table without locks.
+ *
+ * Data layout, from the least significant bit:
+ * <pre>
+ *  0-31  score
+ * 32-39  depth
+ * 40-41  bound type (0 means the slot is empty)
+ * 42-49  age
+ * 50-55  best move current position
+ * 56-61  best move destination position
+ * 62     best move present
+ * </pre>
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2; // the search failed high, the score is at least this
+    public static final int UPPER_BOUND = 3; // the search failed low, the score is at most this
+
+    /**
+     * The table size used when none is chosen explicitly, configurable with -Dchess.hashSize=<megabytes>.
+     */
+    public static final int DEFAULT_SIZE_IN_MEGABYTES = Integer.getInteger("chess.hashSize", 32);
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final int MAX_DEPTH = 0xFF;
+    private static final int AGE_MASK = 0xFF;
+
+    private final long[] entries;
+    private final int indexMask;
+    private final int sizeInMegabytes;
+    private volatile int age;
+
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_IN_MEGABYTES);
+    }
+
+    /**
+     * @param sizeInMegabytes The memory to use, rounded down so that the number of entries is a power of two.
+     */
+    public TranspositionTable(final int sizeInMegabytes) {
+        if (sizeInMegabytes < 1) {
+            throw new IllegalArgumentException("Transposition table size must be at least 1MB: " + sizeInMegabytes);
+        }
+
+        final long numEntries = Long.highestOneBit((long) sizeInMegabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        if (2 * numEntries > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Transposition table size too large: " + sizeInMegabytes + "MB");
+        }
+
+        this.entries = new long[(int) (2 * numEntries)];
+        this.indexMask = (int) numEntries - 1;
+        this.sizeInMegabytes = sizeInMegabytes;
+    }
+
+    public int getSizeInMegabytes() {
+        return this.sizeInMegabytes;
+    }
+
+    /**
+     * Called at the start of every search, so that entries left over from earlier searches are replaced first.
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    public void clear() {
+        Arrays.fill(this.entries, 0L);
+    }
+
+    /**
+     * @param zobristKey The key of the position to look up.
+     * @return The packed data stored for the position, or 0 if there is none. Use the static accessors to unpack it.
+     */
+    public long probe(final long zobristKey) {
+        final int index = indexOf(zobristKey);
+        final long data = this.entries[index + 1];
+        final long checkedKey = this.entries[index];
+
+        return (checkedKey ^ data) == zobristKey ? data : 0L;
+    }
+
+    /**
+     * Stores a search result, unless the slot holds a deeper result for another position from the current search.
+     *
+     * @param zobristKey The key of the position searched.
+     * @param depth The depth the position was searched to.
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND.
+     * @param score The score of the position for the player to move.
+     * @param bestMove The best move found, or null.
+     */
+    public void store(final long zobristKey, final int depth, final int bound, final int score, final Move bestMove) {
+        final int index = indexOf(zobristKey);
+        final long storedData = this.entries[index + 1];
+        final long storedKey = this.entries[index] ^ storedData;
+
+        if (storedKey != zobristKey && getAge(storedData) == this.age && getDepth(storedData) > depth) {
+            return;
+        }
+
+        final long data = pack(depth, bound, score, bestMove);
+        this.entries[index] = zobristKey ^ data;
+        this.entries[index + 1] = data;
+    }
+
+    private long pack(final int depth, final int bound, final int score, final Move bestMove) {
+        long data = score & 0xFFFFFFFFL;
+        data |= (long) Math.min(Math.max(depth, 0), MAX_DEPTH) << 32;
+        data |= (long) bound << 40;
+        data |= (long) this.age << 42;
+
+        if (bestMove != null) {
+            data |= (long) bestMove.getCurrentPosition() << 50;
+            data |= (long) bestMove.getDestinationPosition() << 56;
+            data |= 1L << 62;
+        }
+
+        return data;
+    }
+
+    private int indexOf(final long zobristKey) {
+        return ((int) zobristKey & this.indexMask) << 1;
+    }
+
+    public static boolean isHit(final long data) {
+        return getBound(data) != 0;
+    }
+
+    public static int getScore(final long data) {
+        return (int) data;
+    }
+
+    public static int getDepth(final long data) {
+        return (int) (data >>> 32) & MAX_DEPTH;
+    }
+
+    public static int getBound(final long data) {
+        return (int) (data >>> 40) & 0x3;
+    }
+
+    private static int getAge(final long data) {
+        return (int) (data >>> 42) & AGE_MASK;
+    }
+
+    public static boolean hasBestMove(final long data) {
+        return (data & (1L << 62)) != 0;
+    }
+
+    public static int getBestMoveCurrentPosition(final long data) {
+        return (int) (data >>> 50) & 0x3F;
+    }
+
+    public static int getBestMoveDestinationPosition(final long data) {
+        return (int) (data >>> 56) & 0x3F;
+    }
+}
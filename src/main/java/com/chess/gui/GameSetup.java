@@ -1,6 +1,8 @@
 package com.chess.gui;
 
 import com.chess.engine.player.Player;
+import com.chess.engine.player.ai.LazySMP;
+import com.chess.engine.player.ai.TranspositionTable;
 
 import javax.swing.*;
 import java.awt.*;
@@ -12,10 +14,15 @@ import java.awt.event.ActionListener;
 class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
+    private SearchAlgorithm searchAlgorithm;
     private JSpinner searchDepthSpinner;
+    private JSpinner moveTimeSpinner;
+    private JSpinner hashSizeSpinner;
+    private JSpinner searchThreadsSpinner;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
+    private static final int DEFAULT_MOVE_TIME_MILLIS = 5000;
 
     GameSetup(JFrame frame, boolean modal) {
         super(frame, modal);
@@ -40,6 +47,19 @@ class GameSetup extends JDialog {
         blackGroup.add(blackComputerButton);
         blackHumanButton.setSelected(true);
 
+        // Search algorithm.
+        JRadioButton miniMaxButton = new JRadioButton(SearchAlgorithm.MINIMAX.toString());
+        JRadioButton alphaBetaButton = new JRadioButton(SearchAlgorithm.ALPHA_BETA.toString());
+        JRadioButton lazySMPButton = new JRadioButton(SearchAlgorithm.LAZY_SMP.toString());
+        JRadioButton parallelMiniMaxButton = new JRadioButton(SearchAlgorithm.PARALLEL_MINIMAX.toString());
+        ButtonGroup searchGroup = new ButtonGroup();
+        searchGroup.add(miniMaxButton);
+        searchGroup.add(alphaBetaButton);
+        searchGroup.add(lazySMPButton);
+        searchGroup.add(parallelMiniMaxButton);
+        alphaBetaButton.setSelected(true);
+        this.searchAlgorithm = SearchAlgorithm.ALPHA_BETA;
+
         // Add buttons to panel.
         getContentPane().add(myPanel);
         myPanel.add(new JLabel("White"));
@@ -50,11 +70,29 @@ class GameSetup extends JDialog {
         myPanel.add(blackHumanButton);
         myPanel.add(blackComputerButton);
 
+        myPanel.add(new JLabel("Search Algorithm"));
+        myPanel.add(miniMaxButton);
+        myPanel.add(alphaBetaButton);
+        myPanel.add(lazySMPButton);
+        myPanel.add(parallelMiniMaxButton);
+
         // Add depth spinner.
-        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 0,
+        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 1,
                                                                                                     40
                 , 1));
 
+        // Add move time spinner. The computer stops deepening its search when either limit is reached.
+        this.moveTimeSpinner = addLabeledSpinner(myPanel, "Move Time (ms, 0 = no limit)",
+                new SpinnerNumberModel(DEFAULT_MOVE_TIME_MILLIS, 0, 600000, 500));
+
+        // Add transposition table size spinner.
+        this.hashSizeSpinner = addLabeledSpinner(myPanel, "Hash Size (MB)",
+                new SpinnerNumberModel(TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES, 1, 4096, 1));
+
+        // Add search threads spinner, used by the parallel searches.
+        this.searchThreadsSpinner = addLabeledSpinner(myPanel, "Search Threads",
+                new SpinnerNumberModel(LazySMP.DEFAULT_THREAD_COUNT, 1, 256, 1));
+
         JButton cancelButton = new JButton("Cancel");
         JButton okButton = new JButton("OK");
 
@@ -63,6 +101,15 @@ class GameSetup extends JDialog {
             // Set player types based upon options.
             whitePlayerType = whiteHumanButton.isSelected() ? PlayerType.HUMAN : PlayerType.COMPUTER;
             blackPlayerType = blackHumanButton.isSelected() ? PlayerType.HUMAN : PlayerType.COMPUTER;
+            if (miniMaxButton.isSelected()) {
+                searchAlgorithm = SearchAlgorithm.MINIMAX;
+            } else if (lazySMPButton.isSelected()) {
+                searchAlgorithm = SearchAlgorithm.LAZY_SMP;
+            } else if (parallelMiniMaxButton.isSelected()) {
+                searchAlgorithm = SearchAlgorithm.PARALLEL_MINIMAX;
+            } else {
+                searchAlgorithm = SearchAlgorithm.ALPHA_BETA;
+            }
             GameSetup.this.setVisible(false);
         });
 
@@ -104,6 +151,10 @@ class GameSetup extends JDialog {
         return this.whitePlayerType;
     }
 
+    SearchAlgorithm getSearchAlgorithm() {
+        return this.searchAlgorithm;
+    }
+
     private JSpinner addLabeledSpinner(Container c, String label,
                                        SpinnerModel model) {
         JLabel l = new JLabel(label);
@@ -121,5 +172,17 @@ class GameSetup extends JDialog {
         return (Integer) this.searchDepthSpinner.getValue();
     }
 
+    int getMoveTimeMillis() {
+        return (Integer) this.moveTimeSpinner.getValue();
+    }
+
+    int getSearchThreads() {
+        return (Integer) this.searchThreadsSpinner.getValue();
+    }
+
+    int getHashSizeInMegabytes() {
+        return (Integer) this.hashSizeSpinner.getValue();
+    }
+
 
 }
@@ -0,0 +1,55 @@
+package com.chess.gui;
+
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.LazySMP;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.ParallelMiniMax;
+import com.chess.engine.player.ai.TranspositionTable;
+
+/**
+ * The search algorithms the computer player can be configured with in the game setup dialog.
+ */
+public enum SearchAlgorithm {
+    MINIMAX("MiniMax") {
+        @Override
+        MoveStrategy createMoveStrategy(final int searchDepth, final int searchThreads,
+                                        final TranspositionTable transpositionTable) {
+            return new MiniMax(searchDepth);
+        }
+    },
+    ALPHA_BETA("Alpha-Beta") {
+        @Override
+        MoveStrategy createMoveStrategy(final int searchDepth, final int searchThreads,
+                                        final TranspositionTable transpositionTable) {
+            return new AlphaBeta(searchDepth, transpositionTable);
+        }
+    },
+    LAZY_SMP("Lazy SMP") {
+        @Override
+        MoveStrategy createMoveStrategy(final int searchDepth, final int searchThreads,
+                                        final TranspositionTable transpositionTable) {
+            return new LazySMP(searchDepth, searchThreads, transpositionTable);
+        }
+    },
+    PARALLEL_MINIMAX("Parallel MiniMax") {
+        @Override
+        MoveStrategy createMoveStrategy(final int searchDepth, final int searchThreads,
+                                        final TranspositionTable transpositionTable) {
+            return new ParallelMiniMax(searchDepth, searchThreads);
+        }
+    };
+
+    private final String displayName;
+
+    SearchAlgorithm(final String displayName) {
+        this.displayName = displayName;
+    }
+
+    abstract MoveStrategy createMoveStrategy(int searchDepth, int searchThreads, TranspositionTable transpositionTable);
+
+    @Override
+    public String toString() {
+        return this.displayName;
+    }
+}
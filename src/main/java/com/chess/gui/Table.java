@@ -6,8 +6,9 @@ import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
 import com.chess.engine.player.Player;
-import com.chess.engine.player.ai.MiniMax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.TranspositionTable;
 import com.google.common.collect.Lists;
 
 import javax.imageio.ImageIO;
@@ -40,6 +41,7 @@ public class Table extends Observable {
 
     // AI
     private Move computerMove;
+    private TranspositionTable transpositionTable; // kept between moves, so earlier searches are reused
 
 
     private Board chessBoard;
@@ -224,11 +226,19 @@ public class Table extends Observable {
 
         }
 
-        // Minimax Algorithm is actually invoked here.
+        // The search algorithm chosen in the game setup is actually invoked here.
         @Override
         protected Move doInBackground() {
-            MoveStrategy miniMax = new MiniMax(4);
-            Move bestMove = miniMax.execute(Table.get().getGameBoard());
+            final GameSetup gameSetup = Table.get().getGameSetup();
+            final SearchLimits searchLimits = new SearchLimits.Builder()
+                    .setDepthLimit(gameSetup.getSearchDepth())
+                    .setMoveTimeMillis(gameSetup.getMoveTimeMillis())
+                    .build();
+
+            MoveStrategy moveStrategy = gameSetup.getSearchAlgorithm()
+                    .createMoveStrategy(gameSetup.getSearchDepth(), gameSetup.getSearchThreads(),
+                                        Table.get().getTranspositionTable());
+            Move bestMove = moveStrategy.execute(Table.get().getGameBoard(), searchLimits);
             return bestMove;
         }
 
@@ -302,6 +312,19 @@ public class Table extends Observable {
         return this.gameSetup;
     }
 
+    /**
+     * @return The transposition table shared by all computer moves, reallocated if its size was changed in the setup.
+     */
+    private synchronized TranspositionTable getTranspositionTable() {
+        final int sizeInMegabytes = this.gameSetup.getHashSizeInMegabytes();
+
+        if (this.transpositionTable == null || this.transpositionTable.getSizeInMegabytes() != sizeInMegabytes) {
+            this.transpositionTable = new TranspositionTable(sizeInMegabytes);
+        }
+
+        return this.transpositionTable;
+    }
+
     private class BoardPanel extends JPanel {
         final List<TilePanel> boardTiles;
 
@@ -466,7 +489,7 @@ public class Table extends Observable {
             if (activePiece != null && activePiece.getAlliance() == board.getCurrentPlayer().getAlliance()) {
                 final Collection<Move> moves = new ArrayList<>();
                 if (activePiece.getPieceType().isKing()) {
-                    moves.addAll(board.getCurrentPlayer().calculateKingCastles(board.getCurrentPlayer().getLegalMoves(), board.getOpponentPlayer().getLegalMoves()));
+                    moves.addAll(board.getCurrentPlayer().calculateKingCastles(board.getCurrentPlayer().getLegalMoves()));
                 }
                 moves.addAll(activePiece.calculateLegalMoves(board));
                 return moves;
@@ -0,0 +1,187 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.*;
+
+/**
+ * Converts boards to and from Forsyth-Edwards Notation (FEN).
+ *
+ * A board does not store castling rights separately; they follow from whether the kings and rooks have moved. When a
+ * FEN string is read, a king or rook is therefore marked as unmoved only if the castling field still allows it to
+ * castle. The half move clock and full move number are not tracked by the board, so they are ignored when reading and
+ * written as "0 1".
+ */
+public final class FenUtilities {
+
+    private FenUtilities() {
+        throw new RuntimeException("The FenUtilities class cannot be instantiated.");
+    }
+
+    /**
+     * @param fenString A FEN string, such as
+     *                  "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1".
+     * @return The board described by the string.
+     */
+    public static Board createGameFromFEN(final String fenString) {
+        final String[] fenFields = fenString.trim().split("\\s+");
+        if (fenFields.length < 4) {
+            throw new IllegalArgumentException("Invalid FEN string: " + fenString);
+        }
+
+        final String castlingField = fenFields[2];
+        final Board.Builder builder = new Board.Builder();
+
+        int position = 0;
+        for (final char fenChar : fenFields[0].toCharArray()) {
+            if (fenChar == '/') {
+                continue;
+            }
+
+            if (Character.isDigit(fenChar)) {
+                position += fenChar - '0';
+            } else {
+                builder.setPiece(createPiece(fenChar, position, castlingField));
+                position++;
+            }
+        }
+
+        if (position != 64) {
+            throw new IllegalArgumentException("Invalid FEN piece placement: " + fenFields[0]);
+        }
+
+        final Alliance nextTurnAlliance = fenFields[1].equals("b") ? Alliance.BLACK : Alliance.WHITE;
+        builder.setNextTurnAlliance(nextTurnAlliance);
+
+        // The en passant field names the square behind the pawn that has just jumped.
+        if (!fenFields[3].equals("-")) {
+            final int enPassantSquare = BoardUtils.getPositionFromPGNSquare(fenFields[3]);
+            final int pawnPosition = enPassantSquare + (8 * nextTurnAlliance.getOppositeDirection());
+            builder.setEnPassantPawn(new Pawn(pawnPosition, nextTurnAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE,
+                                              false));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param board The board to describe.
+     * @return The FEN string of the board.
+     */
+    public static String createFENFromGame(final Board board) {
+        return calculateBoardText(board) + " " +
+               (board.getCurrentPlayer().getAlliance().isWhite() ? "w" : "b") + " " +
+               calculateCastleText(board) + " " +
+               calculateEnPassantSquare(board) + " 0 1";
+    }
+
+    private static Piece createPiece(final char fenChar, final int position, final String castlingField) {
+        final Alliance alliance = Character.isUpperCase(fenChar) ? Alliance.WHITE : Alliance.BLACK;
+
+        switch (Character.toLowerCase(fenChar)) {
+            case 'p':
+                return new Pawn(position, alliance, alliance.isWhite() ? BoardUtils.isOnSecondRank(position) :
+                                                                         BoardUtils.isOnSeventhRank(position));
+            case 'n':
+                return new Knight(position, alliance, isStartingSquare(position, alliance, 1, 6));
+            case 'b':
+                return new Bishop(position, alliance, isStartingSquare(position, alliance, 2, 5));
+            case 'r':
+                return new Rook(position, alliance, isUnmovedRook(position, alliance, castlingField));
+            case 'q':
+                return new Queen(position, alliance, isStartingSquare(position, alliance, 3, 3));
+            case 'k':
+                return new King(position, alliance, isUnmovedKing(position, alliance, castlingField), false);
+            default:
+                throw new IllegalArgumentException("Invalid FEN piece: " + fenChar);
+        }
+    }
+
+    private static boolean isStartingSquare(final int position, final Alliance alliance,
+                                            final int firstFile, final int secondFile) {
+        final int backRank = alliance.isWhite() ? 56 : 0;
+        return position == backRank + firstFile || position == backRank + secondFile;
+    }
+
+    private static boolean isUnmovedKing(final int position, final Alliance alliance, final String castlingField) {
+        if (alliance.isWhite()) {
+            return position == 60 && (castlingField.contains("K") || castlingField.contains("Q"));
+        }
+        return position == 4 && (castlingField.contains("k") || castlingField.contains("q"));
+    }
+
+    private static boolean isUnmovedRook(final int position, final Alliance alliance, final String castlingField) {
+        if (alliance.isWhite()) {
+            return (position == 63 && castlingField.contains("K")) || (position == 56 && castlingField.contains("Q"));
+        }
+        return (position == 7 && castlingField.contains("k")) || (position == 0 && castlingField.contains("q"));
+    }
+
+    private static String calculateBoardText(final Board board) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (int rank = 0; rank < 8; rank++) {
+            int emptyTiles = 0;
+
+            for (int file = 0; file < 8; file++) {
+                final Piece piece = board.getTile(rank * 8 + file).getPiece();
+
+                if (piece == null) {
+                    emptyTiles++;
+                    continue;
+                }
+
+                if (emptyTiles > 0) {
+                    builder.append(emptyTiles);
+                    emptyTiles = 0;
+                }
+
+                final String pieceText = piece.getPieceType().toString();
+                builder.append(piece.getAlliance().isWhite() ? pieceText : pieceText.toLowerCase());
+            }
+
+            if (emptyTiles > 0) {
+                builder.append(emptyTiles);
+            }
+
+            if (rank < 7) {
+                builder.append('/');
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static String calculateCastleText(final Board board) {
+        final int castlingRights = board.getCastlingRights();
+        final StringBuilder builder = new StringBuilder();
+
+        if ((castlingRights & BoardUtils.WHITE_KING_SIDE_CASTLE) != 0) {
+            builder.append('K');
+        }
+        if ((castlingRights & BoardUtils.WHITE_QUEEN_SIDE_CASTLE) != 0) {
+            builder.append('Q');
+        }
+        if ((castlingRights & BoardUtils.BLACK_KING_SIDE_CASTLE) != 0) {
+            builder.append('k');
+        }
+        if ((castlingRights & BoardUtils.BLACK_QUEEN_SIDE_CASTLE) != 0) {
+            builder.append('q');
+        }
+
+        return builder.length() == 0 ? "-" : builder.toString();
+    }
+
+    private static String calculateEnPassantSquare(final Board board) {
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+
+        if (enPassantPawn == null) {
+            return "-";
+        }
+
+        // The square the pawn jumped over is one step back in the pawn's direction of travel.
+        return BoardUtils.getPGNSquare(enPassantPawn.getPiecePosition() +
+                                       (8 * enPassantPawn.getAlliance().getOppositeDirection()));
+    }
+}
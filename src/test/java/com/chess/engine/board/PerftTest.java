@@ -0,0 +1,81 @@
+package com.chess.engine.board;
+
+import com.chess.pgn.FenUtilities;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the move generators against the {@link PerftPositions}, to the depths that take a fraction of a second.
+ * PerftBenchmark runs the same positions deeper.
+ */
+class PerftTest {
+
+    // Each position is counted to the deepest published depth within these many nodes.
+    private static final long MAX_NODES = 700_000;
+    private static final long MAX_STATISTICS_NODES = 200_000;
+    private static final int PLAYER_MOVES_DEPTH = 3;
+
+    @ParameterizedTest(name = "{0} to depth {1}")
+    @MethodSource("nodeCounts")
+    void nodeCountsMatchPublishedCounts(final PerftPositions.Position position, final int depth) {
+        assertEquals(position.getNodes(depth), Perft.perft(FenUtilities.createGameFromFEN(position.getFen()), depth));
+    }
+
+    @ParameterizedTest(name = "{0} to depth {1}")
+    @MethodSource("statistics")
+    void leafStatisticsMatchPublishedCounts(final PerftPositions.Position position, final int depth) {
+        final long[] expected = position.getStatistics(depth);
+        final Perft.Statistics statistics =
+                Perft.perftStatistics(FenUtilities.createGameFromFEN(position.getFen()), depth);
+
+        assertEquals(expected[0], statistics.getNodes(), "nodes");
+        assertEquals(expected[1], statistics.getCaptures(), "captures");
+        assertEquals(expected[2], statistics.getEnPassantCaptures(), "en passant captures");
+        assertEquals(expected[3], statistics.getCastles(), "castles");
+        assertEquals(expected[4], statistics.getPromotions(), "promotions");
+        assertEquals(expected[5], statistics.getChecks(), "checks");
+    }
+
+    @Test
+    void divideAddsUpToPerft() {
+        final PerftPositions.Position kiwipete = PerftPositions.PUBLISHED.get(1);
+        final Board board = FenUtilities.createGameFromFEN(kiwipete.getFen());
+        final Map<String, Long> counts = Perft.divide(board, 3);
+
+        assertEquals(kiwipete.getNodes(1), counts.size());
+        assertEquals(Perft.perft(board, 3), counts.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * The players only promote to a queen, so their moves are compared with the generator's queen promotions.
+     */
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("positions")
+    void playerMovesMatchMoveGenerator(final PerftPositions.Position position) {
+        final Board board = FenUtilities.createGameFromFEN(position.getFen());
+        assertEquals(Perft.perftQueenPromotions(board, PLAYER_MOVES_DEPTH),
+                     Perft.perftMoves(board, PLAYER_MOVES_DEPTH));
+    }
+
+    private static Stream<PerftPositions.Position> positions() {
+        return PerftPositions.PUBLISHED.stream();
+    }
+
+    private static Stream<Arguments> nodeCounts() {
+        return positions().map(position -> Arguments.of(position, position.getDepthWithin(MAX_NODES)));
+    }
+
+    private static Stream<Arguments> statistics() {
+        return positions().flatMap(position -> IntStream.of(position.getDepthWithin(MAX_STATISTICS_NODES))
+                                                        .filter(position::hasStatistics)
+                                                        .mapToObj(depth -> Arguments.of(position, depth)));
+    }
+}
@@ -0,0 +1,127 @@
+package com.chess.engine.board;
+
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plays seeded random games and checks after every move that an incrementally updated key equals the key calculated
+ * from scratch by ZobristHashing: on boards built by executing moves, and on a {@link MutableBoard} after each make and
+ * each unmake.
+ */
+class ZobristHashingTest {
+
+    private static final long SEED = 20_200_402L;
+    private static final int GAMES = 200;
+    private static final int MAX_PLIES = 300;
+    private static final int MUTABLE_BOARD_GAMES = 40;
+    private static final int MUTABLE_BOARD_MAX_PLIES = 200;
+
+    // Rich in castling, en passant captures and promotions respectively, so random games reach every kind of move.
+    private static final String[] MUTABLE_BOARD_POSITIONS = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"
+    };
+
+    @Test
+    void incrementalKeyMatchesKeyFromScratchAfterRandomMoves() {
+        final Random random = new Random(SEED);
+        int plies = 0;
+
+        for (int game = 0; game < GAMES; game++) {
+            Board board = Board.createDefaultBoard();
+
+            for (int ply = 0; ply < MAX_PLIES; ply++) {
+                final Board nextBoard = playRandomMove(board, random);
+                if (nextBoard == null) {
+                    break;
+                }
+                board = nextBoard;
+                plies++;
+
+                final String fen = FenUtilities.createFENFromGame(board);
+                final long key = board.getZobristKey();
+                assertEquals(ZobristHashing.calculateKey(board), key, "calculated from scratch after " + fen);
+                assertEquals(FenUtilities.createGameFromFEN(fen).getZobristKey(), key, "FEN round trip after " + fen);
+            }
+        }
+
+        assertTrue(plies > GAMES * 50, "Only " + plies + " plies were played");
+    }
+
+    /**
+     * At every ply one random legal move is made and unmade, then another is made to continue the game, and the key
+     * is compared with the key of the equivalent immutable board after each of these.
+     */
+    @Test
+    void mutableBoardKeyMatchesKeyFromScratchAfterMakeAndUnmake() {
+        final Random random = new Random(SEED);
+        final MoveBuffer moveBuffer = new MoveBuffer(1);
+        int captures = 0;
+        int enPassantCaptures = 0;
+        int castles = 0;
+        int promotions = 0;
+
+        for (final String fen : MUTABLE_BOARD_POSITIONS) {
+            for (int game = 0; game < MUTABLE_BOARD_GAMES; game++) {
+                final MutableBoard board = new MutableBoard(FenUtilities.createGameFromFEN(fen));
+
+                for (int ply = 0; ply < MUTABLE_BOARD_MAX_PLIES; ply++) {
+                    MoveGenerator.generateLegalMoves(board, moveBuffer, 0);
+                    if (moveBuffer.size(0) == 0) {
+                        break;
+                    }
+
+                    final long keyBeforeMove = board.getZobristKey();
+                    final int triedMove = moveBuffer.get(0, random.nextInt(moveBuffer.size(0)));
+                    board.makeMove(triedMove);
+                    assertKeyFromScratch(board, "after making " + PackedMove.toString(triedMove) + " in " + fen);
+                    board.unmakeMove();
+                    assertEquals(keyBeforeMove, board.getZobristKey(), "key restored by unmaking");
+                    assertKeyFromScratch(board, "after unmaking " + PackedMove.toString(triedMove) + " in " + fen);
+
+                    final int move = moveBuffer.get(0, random.nextInt(moveBuffer.size(0)));
+                    captures += PackedMove.isCapture(move) ? 1 : 0;
+                    enPassantCaptures += PackedMove.isEnPassantCapture(move) ? 1 : 0;
+                    castles += PackedMove.isCastle(move) ? 1 : 0;
+                    promotions += PackedMove.isPromotion(move) ? 1 : 0;
+                    board.makeMove(move);
+                    assertKeyFromScratch(board, "after making " + PackedMove.toString(move) + " in " + fen);
+                }
+            }
+        }
+
+        assertTrue(captures > 0 && enPassantCaptures > 0 && castles > 0 && promotions > 0,
+                   "Not every kind of move was played: " + captures + " captures, " + enPassantCaptures +
+                   " en passant captures, " + castles + " castles, " + promotions + " promotions");
+    }
+
+    private static void assertKeyFromScratch(final MutableBoard board, final String message) {
+        assertEquals(ZobristHashing.calculateKey(board.toBoard()), board.getZobristKey(), message);
+    }
+
+    /**
+     * @return The board after a random legal move, or null if the player to move has none.
+     */
+    private static Board playRandomMove(final Board board, final Random random) {
+        final List<Move> moves = new ArrayList<>(board.getCurrentPlayer().getLegalMoves());
+
+        while (!moves.isEmpty()) {
+            final Move move = moves.remove(random.nextInt(moves.size()));
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                return transition.getTransitionBoard();
+            }
+        }
+        return null;
+    }
+}